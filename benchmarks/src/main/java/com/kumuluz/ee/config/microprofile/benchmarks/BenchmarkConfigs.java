@@ -0,0 +1,134 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.benchmarks;
+
+import com.kumuluz.ee.config.microprofile.ConfigBuilderImpl;
+import com.kumuluz.ee.config.microprofile.ConfigImpl;
+import com.kumuluz.ee.config.microprofile.adapters.ConfigSourceAdapter;
+import org.eclipse.microprofile.config.spi.ConfigProviderResolver;
+import org.eclipse.microprofile.config.spi.ConfigSource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Builds configs for the benchmarks without the KumuluzEE runtime.
+ *
+ * @since 2.1
+ */
+public final class BenchmarkConfigs {
+
+    /**
+     * Number of filler properties in each generated source.
+     */
+    public static final int PROPERTIES_PER_SOURCE = 100;
+
+    private static ConfigImpl registered = null;
+
+    private BenchmarkConfigs() {
+    }
+
+    /**
+     * Builds a config from the given sources and registers it for the context class loader, so that
+     * {@code ConfigProvider.getConfig()} returns it.
+     */
+    public static synchronized ConfigImpl build(ConfigSource... sources) {
+
+        ConfigImpl config = (ConfigImpl) new ConfigBuilderImpl()
+                .withSources(sources)
+                .build();
+
+        // replaces the config registered by the previous trial
+        ConfigProviderResolver resolver = ConfigProviderResolver.instance();
+        if (registered != null) {
+            resolver.releaseConfig(registered);
+        }
+        resolver.registerConfig(config, Thread.currentThread().getContextClassLoader());
+        registered = config;
+
+        return config;
+    }
+
+    /**
+     * Builds a config from the given properties and the given number of additional sources with a lower ordinal.
+     * Each additional source contains {@link #PROPERTIES_PER_SOURCE} unrelated properties. All sources are declared
+     * immutable.
+     */
+    public static ConfigImpl build(Map<String, String> properties, int fillerSources) {
+
+        // values of sources which don't report changes are not cached
+        properties.put(ConfigSourceAdapter.CONFIG_IMMUTABLE, "true");
+
+        List<ConfigSource> sources = new ArrayList<>();
+        sources.add(new MapConfigSource("benchmark", 500, properties));
+
+        for (int i = 0; i < fillerSources; i++) {
+            sources.add(new MapConfigSource("filler-" + i, 400 - i, fillerProperties(i)));
+        }
+
+        return build(sources.toArray(new ConfigSource[0]));
+    }
+
+    /**
+     * Returns the value of the {@code mp.config.profile} property activating the given number of profiles, or
+     * {@code null} for none.
+     */
+    public static String profiles(int count) {
+
+        if (count == 0) {
+            return null;
+        }
+
+        StringJoiner profiles = new StringJoiner(",");
+        for (int i = 0; i < count; i++) {
+            profiles.add("profile" + i);
+        }
+
+        return profiles.toString();
+    }
+
+    /**
+     * Returns a comma-separated list of the given number of integers.
+     */
+    public static String list(int size) {
+
+        StringJoiner list = new StringJoiner(",");
+        for (int i = 0; i < size; i++) {
+            list.add(Integer.toString(i));
+        }
+
+        return list.toString();
+    }
+
+    private static Map<String, String> fillerProperties(int source) {
+
+        Map<String, String> properties = new HashMap<>();
+        for (int i = 0; i < PROPERTIES_PER_SOURCE; i++) {
+            properties.put("filler" + source + ".property" + i, "value" + i);
+        }
+        properties.put(ConfigSourceAdapter.CONFIG_IMMUTABLE, "true");
+
+        return properties;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.benchmarks;
+
+import com.kumuluz.ee.config.microprofile.ConfigImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of lists and arrays of different sizes.
+ *
+ * @since 2.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectionConverterBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int listSize;
+
+    private ConfigImpl config;
+    private String list;
+
+    @Setup
+    public void setUp() {
+
+        list = BenchmarkConfigs.list(listSize);
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put("benchmark.list", list);
+
+        config = BenchmarkConfigs.build(properties, 0);
+    }
+
+    @Benchmark
+    public List<Integer> convertList() {
+        return config.convertList(list, Integer.class);
+    }
+
+    @Benchmark
+    public Integer[] convertArray() {
+        return config.convert(list, Integer[].class);
+    }
+
+    @Benchmark
+    public int[] convertPrimitiveArray() {
+        return config.convert(list, int[].class);
+    }
+
+    @Benchmark
+    public int[] getPrimitiveArray() {
+        // converted value is cached, only the copy is made
+        return config.getValue("benchmark.list", int[].class);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.benchmarks;
+
+import com.kumuluz.ee.config.microprofile.ConfigImpl;
+import com.kumuluz.ee.config.microprofile.cdi.ConfigPropertiesProducer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binding of a @ConfigProperties class, reflectively through the producer and with the binder generated by the
+ * annotation processor.
+ *
+ * @since 2.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigPropertiesBenchmark {
+
+    private ConfigImpl config;
+    private ServerProperties$$ConfigPropertiesBinder binder;
+
+    @Setup
+    public void setUp() {
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put("server.host", "localhost");
+        properties.put("server.port", "8080");
+        properties.put("server.secure", "true");
+        properties.put("other.host", "example.com");
+        properties.put("other.port", "443");
+        properties.put("other.secure", "false");
+
+        config = BenchmarkConfigs.build(properties, 3);
+        // generated binders are registered by the CDI extension, which doesn't run here
+        binder = new ServerProperties$$ConfigPropertiesBinder();
+    }
+
+    @Benchmark
+    public Object bindReflectively() {
+        return ConfigPropertiesProducer.getGenericPropertiesObject(ServerProperties.class, Optional.empty());
+    }
+
+    @Benchmark
+    public Object bindReflectivelyWithPrefix() {
+        return ConfigPropertiesProducer.getGenericPropertiesObject(ServerProperties.class, Optional.of("other"));
+    }
+
+    @Benchmark
+    public ServerProperties bindGenerated() {
+        return binder.bind(config, "server");
+    }
+}
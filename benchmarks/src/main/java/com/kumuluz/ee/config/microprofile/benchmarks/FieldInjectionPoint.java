@@ -0,0 +1,115 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.benchmarks;
+
+import javax.enterprise.inject.spi.Annotated;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Injection point of a field, used to call the config producers without a CDI container.
+ *
+ * @since 2.1
+ */
+public class FieldInjectionPoint implements InjectionPoint, Annotated {
+
+    private final Field field;
+
+    public FieldInjectionPoint(Class<?> declaringClass, String fieldName) {
+        try {
+            this.field = declaringClass.getDeclaredField(fieldName);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @Override
+    public Type getType() {
+        return field.getGenericType();
+    }
+
+    @Override
+    public Set<Annotation> getQualifiers() {
+        return getAnnotations();
+    }
+
+    @Override
+    public Bean<?> getBean() {
+        return null;
+    }
+
+    @Override
+    public Member getMember() {
+        return field;
+    }
+
+    @Override
+    public Annotated getAnnotated() {
+        return this;
+    }
+
+    @Override
+    public boolean isDelegate() {
+        return false;
+    }
+
+    @Override
+    public boolean isTransient() {
+        return false;
+    }
+
+    @Override
+    public Type getBaseType() {
+        return field.getGenericType();
+    }
+
+    @Override
+    public Set<Type> getTypeClosure() {
+        return Set.of(field.getGenericType(), Object.class);
+    }
+
+    @Override
+    public <T extends Annotation> T getAnnotation(Class<T> annotationType) {
+        return field.getAnnotation(annotationType);
+    }
+
+    @Override
+    public <T extends Annotation> Set<T> getAnnotations(Class<T> annotationType) {
+        return new HashSet<>(Arrays.asList(field.getAnnotationsByType(annotationType)));
+    }
+
+    @Override
+    public Set<Annotation> getAnnotations() {
+        return new HashSet<>(Arrays.asList(field.getAnnotations()));
+    }
+
+    @Override
+    public boolean isAnnotationPresent(Class<? extends Annotation> annotationType) {
+        return field.isAnnotationPresent(annotationType);
+    }
+}
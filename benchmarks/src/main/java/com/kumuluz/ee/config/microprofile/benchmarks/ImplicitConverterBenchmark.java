@@ -0,0 +1,100 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.benchmarks;
+
+import com.kumuluz.ee.config.microprofile.ConfigImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion to types without a registered converter, converted with a static factory method or a constructor.
+ *
+ * @since 2.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImplicitConverterBenchmark {
+
+    private ConfigImpl config;
+
+    @Setup
+    public void setUp() {
+        config = BenchmarkConfigs.build(new HashMap<>(), 0);
+    }
+
+    @Benchmark
+    public URI convertImplicitUri() {
+        return config.convert("https://ee.kumuluz.com/config", URI.class);
+    }
+
+    @Benchmark
+    public Duration convertImplicitDuration() {
+        return config.convert("PT30S", Duration.class);
+    }
+
+    @Benchmark
+    public FactoryMethodValue convertImplicitFactoryMethod() {
+        return config.convert("value", FactoryMethodValue.class);
+    }
+
+    @Benchmark
+    public ConstructorValue convertImplicitConstructor() {
+        return config.convert("value", ConstructorValue.class);
+    }
+
+    public static class FactoryMethodValue {
+
+        private final String value;
+
+        private FactoryMethodValue(String value) {
+            this.value = value;
+        }
+
+        public static FactoryMethodValue of(String value) {
+            return new FactoryMethodValue(value);
+        }
+
+        public String getValue() {
+            return value;
+        }
+    }
+
+    public static class ConstructorValue {
+
+        private final String value;
+
+        public ConstructorValue(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+    }
+}
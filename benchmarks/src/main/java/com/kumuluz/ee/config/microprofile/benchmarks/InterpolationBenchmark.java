@@ -0,0 +1,75 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.benchmarks;
+
+import com.kumuluz.ee.config.microprofile.ConfigImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups of a property which references a chain of other properties with property expressions.
+ *
+ * @since 2.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterpolationBenchmark {
+
+    @Param({"0", "1", "4", "16"})
+    public int depth;
+
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+
+    private ConfigImpl config;
+
+    @Setup
+    public void setUp() {
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put(ConfigImpl.CACHE_ENABLED_KEY, Boolean.toString(cacheEnabled));
+
+        // chain.0 -> chain.1 -> ... -> chain.<depth>
+        for (int i = 0; i < depth; i++) {
+            properties.put("chain." + i, "prefix-${chain." + (i + 1) + "}");
+        }
+        properties.put("chain." + depth, "value");
+
+        config = BenchmarkConfigs.build(properties, 3);
+    }
+
+    @Benchmark
+    public String getValue() {
+        return config.getValue("chain.0", String.class);
+    }
+
+    @Benchmark
+    public String getRawValue() {
+        return config.getConfigValue("chain.0", false).getValue();
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.benchmarks;
+
+import com.kumuluz.ee.config.microprofile.ConfigImpl;
+import com.kumuluz.ee.config.microprofile.ConfigKey;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups of present and missing properties, depending on the number of config sources and active profiles. The
+ * property is defined in the source with the highest ordinal, under each active profile and without a profile.
+ *
+ * @since 2.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+
+    @Param({"1", "4", "16"})
+    public int sourceCount;
+
+    @Param({"0", "1", "3"})
+    public int profileCount;
+
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+
+    private ConfigImpl config;
+    private ConfigKey presentKey;
+    private ConfigKey missingKey;
+
+    @Setup
+    public void setUp() {
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put(ConfigImpl.CACHE_ENABLED_KEY, Boolean.toString(cacheEnabled));
+        properties.put("benchmark.string", "value");
+        properties.put("benchmark.int", "42");
+
+        String profiles = BenchmarkConfigs.profiles(profileCount);
+        if (profiles != null) {
+            properties.put("mp.config.profile", profiles);
+            for (int i = 0; i < profileCount; i++) {
+                properties.put("%profile" + i + ".benchmark.string", "value" + i);
+                properties.put("%profile" + i + ".benchmark.int", Integer.toString(i));
+            }
+        }
+
+        config = BenchmarkConfigs.build(properties, sourceCount - 1);
+        presentKey = config.getKey("benchmark.string");
+        missingKey = config.getKey("benchmark.missing");
+    }
+
+    @Benchmark
+    public String getValueHit() {
+        return config.getValue("benchmark.string", String.class);
+    }
+
+    @Benchmark
+    public Integer getValueHitConverted() {
+        return config.getValue("benchmark.int", Integer.class);
+    }
+
+    @Benchmark
+    public int getIntHit() {
+        return config.getInt("benchmark.int", 0);
+    }
+
+    @Benchmark
+    public String getValueHitKey() {
+        return config.getValue(presentKey, String.class);
+    }
+
+    @Benchmark
+    public Optional<String> getOptionalValueHit() {
+        return config.getOptionalValue("benchmark.string", String.class);
+    }
+
+    @Benchmark
+    public Optional<String> getOptionalValueMiss() {
+        return config.getOptionalValue("benchmark.missing", String.class);
+    }
+
+    @Benchmark
+    public Optional<String> getOptionalValueMissKey() {
+        return config.getOptionalValue(missingKey, String.class);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.benchmarks;
+
+import com.kumuluz.ee.config.microprofile.ConfigImpl;
+import com.kumuluz.ee.config.microprofile.cdi.ConfigInjectionProducer;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Reads of injected {@link Supplier} and {@link IntSupplier} instances, shared by all benchmark threads. In the
+ * {@code readWithChanges} group one thread keeps invalidating the property, as a change reported by a configuration
+ * source would.
+ *
+ * @since 2.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SupplierBenchmark {
+
+    @ConfigProperty(name = "benchmark.timeout")
+    Supplier<Integer> timeout;
+
+    @ConfigProperty(name = "benchmark.timeout", defaultValue = "1000")
+    IntSupplier intTimeout;
+
+    private ConfigImpl config;
+    private Supplier<Integer> timeoutSupplier;
+    private IntSupplier intTimeoutSupplier;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put("benchmark.timeout", "5000");
+
+        config = BenchmarkConfigs.build(properties, 3);
+
+        ConfigInjectionProducer producer = new ConfigInjectionProducer();
+        // @PostConstruct callback, normally invoked by the container
+        Method init = ConfigInjectionProducer.class.getDeclaredMethod("init");
+        init.setAccessible(true);
+        init.invoke(producer);
+
+        timeoutSupplier = producer.getSupplierProperty(new FieldInjectionPoint(SupplierBenchmark.class, "timeout"));
+        intTimeoutSupplier = producer.getIntSupplierProperty(
+                new FieldInjectionPoint(SupplierBenchmark.class, "intTimeout"));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Integer supplier() {
+        return timeoutSupplier.get();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public int intSupplier() {
+        return intTimeoutSupplier.getAsInt();
+    }
+
+    @Benchmark
+    @Group("readWithChanges")
+    @GroupThreads(7)
+    public Integer supplierWithChanges() {
+        return timeoutSupplier.get();
+    }
+
+    @Benchmark
+    @Group("readWithChanges")
+    @GroupThreads(1)
+    public void change() {
+        config.invalidate("benchmark.timeout");
+        // keeps the rate of changes far below the rate of reads
+        Blackhole.consumeCPU(10_000);
+    }
+}
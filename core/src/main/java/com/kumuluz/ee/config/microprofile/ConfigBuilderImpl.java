@@ -57,6 +57,7 @@ public class ConfigBuilderImpl implements ConfigBuilder {
 
     private final Map<Type, ConverterWithOrdinal<?>> converters;
     private final List<ConfigSource> configSources;
+    private ClassLoader classLoader = null;
 
     public ConfigBuilderImpl() {
 
@@ -100,7 +101,10 @@ public class ConfigBuilderImpl implements ConfigBuilder {
     @Override
     public ConfigBuilder addDiscoveredConverters() {
         // load Converters
-        for (Converter<?> converter : ServiceLoader.load(Converter.class)) {
+        ServiceLoader<Converter> serviceLoader = (this.classLoader == null) ?
+                ServiceLoader.load(Converter.class) : ServiceLoader.load(Converter.class, this.classLoader);
+
+        for (Converter<?> converter : serviceLoader) {
             withConverters(converter);
         }
 
@@ -109,6 +113,8 @@ public class ConfigBuilderImpl implements ConfigBuilder {
 
     @Override
     public ConfigBuilder forClassLoader(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+
         return this;
     }
 
@@ -156,9 +162,14 @@ public class ConfigBuilderImpl implements ConfigBuilder {
         this.converters.forEach((key, value) -> {
             actualConverters.put(key, value.getConverter());
             actualConverters.put(Array.newInstance((Class<?>) key, 0).getClass(), new ArrayConverter<>(value.getConverter(), (Class) key));
-            AlternativeTypesUtil.getPrimitiveFromType(key).ifPresent(primitive ->
-                    actualConverters.put(Array.newInstance((Class<?>) primitive, 0).getClass(),
-                            new ArrayConverter<>(value.getConverter(), (Class) primitive)));
+            AlternativeTypesUtil.getPrimitiveFromType(key).ifPresent(primitive -> {
+                Converter<?> arrayConverter = PrimitiveArrayConverter.forComponentType((Class<?>) primitive,
+                        value.getConverter());
+                if (arrayConverter == null) {
+                    arrayConverter = new ArrayConverter<>(value.getConverter(), (Class) primitive);
+                }
+                actualConverters.put(Array.newInstance((Class<?>) primitive, 0).getClass(), arrayConverter);
+            });
         });
 
         return new ConfigImpl(this.configSources, actualConverters);
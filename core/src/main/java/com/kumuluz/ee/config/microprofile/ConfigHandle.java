@@ -0,0 +1,167 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile;
+
+import org.eclipse.microprofile.config.ConfigValue;
+import org.eclipse.microprofile.config.spi.Converter;
+
+import java.lang.reflect.Array;
+import java.util.NoSuchElementException;
+
+/**
+ * Handle to a single typed configuration property. The key and the converter are resolved once, when the handle is
+ * created by {@link ConfigImpl#handle(String, Class, Object)}. The converted value is reused until the configuration
+ * changes, so handles can be kept in static fields and read on hot paths.
+ *
+ * @param <T> type of the property
+ * @since 2.1
+ */
+public final class ConfigHandle<T> {
+
+    private final ConfigImpl config;
+    private final ConfigKey key;
+    private final Class<T> type;
+    private final Converter<T> converter;
+    private final T defaultValue;
+
+    private volatile Resolved<T> resolved = null;
+
+    ConfigHandle(ConfigImpl config, ConfigKey key, Class<T> type, T defaultValue) {
+        this.config = config;
+        this.key = key;
+        this.type = type;
+        this.defaultValue = defaultValue;
+
+        if (type.isArray()) {
+            // arrays are converted element-wise by the config
+            this.converter = null;
+        } else {
+            this.converter = config.getConverter(type)
+                    .orElseThrow(() -> new IllegalArgumentException("No Converter registered for class " + type));
+        }
+    }
+
+    /**
+     * Returns the current value of the property or the default value if the property is not configured.
+     *
+     * @throws NoSuchElementException if the property is not configured and the handle has no default value
+     * @throws IllegalArgumentException if the configured value can not be converted
+     */
+    public T get() {
+
+        T value = getOrNull();
+
+        if (value == null) {
+            throw new NoSuchElementException("No configured value found for config key " + this.key.getName());
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns the current value of the property, the default value if the property is not configured or
+     * {@code null} if the handle has no default value.
+     *
+     * @throws IllegalArgumentException if the configured value can not be converted
+     */
+    public T getOrNull() {
+
+        Resolved<T> current = this.resolved;
+        long epoch = this.config.getCacheEpoch();
+
+        // without tracked changes the value is re-read, only the conversion is reused
+        if (current == null || current.epoch != epoch || !current.changeTracked ||
+                !this.config.isChangeTracked(this.key)) {
+            current = resolve(current, epoch);
+        }
+
+        if (current.value == null) {
+            return (this.defaultValue != null && this.type.isArray()) ? copyArray(this.defaultValue) :
+                    this.defaultValue;
+        }
+
+        return this.type.isArray() ? copyArray(current.value) : current.value;
+    }
+
+    private Resolved<T> resolve(Resolved<T> previous, long epoch) {
+
+        ConfigValue configValue = this.config.getConfigValue(this.key);
+        String rawValue = (configValue.getSourceName() == null || configValue.getValue().isEmpty()) ?
+                null : configValue.getValue();
+
+        T value;
+        if (rawValue == null) {
+            value = null;
+        } else if (previous != null && rawValue.equals(previous.rawValue)) {
+            value = previous.value;
+        } else {
+            try {
+                value = (this.converter != null) ? this.converter.convert(rawValue) : this.config.convert(rawValue,
+                        this.type);
+            } catch (Exception e) {
+                throw new IllegalArgumentException("Could not convert value " + rawValue + " to type " + this.type,
+                        e);
+            }
+        }
+
+        Resolved<T> current = new Resolved<>(epoch, rawValue, value, this.config.isChangeTracked(this.key));
+        this.resolved = current;
+
+        return current;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T copyArray(T array) {
+        int length = Array.getLength(array);
+        Object copy = Array.newInstance(array.getClass().getComponentType(), length);
+        System.arraycopy(array, 0, copy, 0, length);
+
+        return (T) copy;
+    }
+
+    public ConfigKey getKey() {
+        return key;
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    public T getDefaultValue() {
+        return defaultValue;
+    }
+
+    private static final class Resolved<T> {
+
+        private final long epoch;
+        private final String rawValue;
+        private final T value;
+        // false if the value was read from a source which doesn't report changes
+        private final boolean changeTracked;
+
+        private Resolved(long epoch, String rawValue, T value, boolean changeTracked) {
+            this.epoch = epoch;
+            this.rawValue = rawValue;
+            this.value = value;
+            this.changeTracked = changeTracked;
+        }
+    }
+}
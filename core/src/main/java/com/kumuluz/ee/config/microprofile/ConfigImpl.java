@@ -20,9 +20,15 @@
  */
 package com.kumuluz.ee.config.microprofile;
 
-import com.kumuluz.ee.config.microprofile.converters.ArrayConverter;
-import com.kumuluz.ee.config.microprofile.converters.ImplicitConverter;
-import com.kumuluz.ee.config.microprofile.utils.AlternativeTypesUtil;
+import com.kumuluz.ee.config.microprofile.adapters.ConfigSourceAdapter;
+import com.kumuluz.ee.config.microprofile.adapters.ConfigurationChanges;
+import com.kumuluz.ee.config.microprofile.converters.*;
+import com.kumuluz.ee.config.microprofile.utils.ConfigSnapshotIndex;
+import com.kumuluz.ee.config.microprofile.utils.ImmutableTypesUtil;
+import com.kumuluz.ee.config.microprofile.utils.InterpolationTemplate;
+import com.kumuluz.ee.config.microprofile.utils.ListTokenizer;
+import com.kumuluz.ee.config.microprofile.utils.LruCache;
+import com.kumuluz.ee.configuration.ConfigurationListener;
 import com.kumuluz.ee.configuration.utils.ConfigurationInterpolationUtil;
 import org.eclipse.microprofile.config.Config;
 import org.eclipse.microprofile.config.ConfigValue;
@@ -34,7 +40,9 @@ import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.lang.reflect.Type;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Microprofile Config implementation that exposes KumuluzEE configuration framework.
@@ -46,29 +54,330 @@ import java.util.stream.Collectors;
  */
 public class ConfigImpl implements Config, Serializable {
 
-    private final Map<Type, Converter<?>> converters;
+    public static final String CACHE_ENABLED_KEY = "kumuluzee.config.mp.cache.enabled";
+    public static final String CONVERTED_CACHE_SIZE_KEY = "kumuluzee.config.mp.cache.converted-values.max-size";
+
+    private static final int DEFAULT_CONVERTED_CACHE_SIZE = 1024;
+    private static final int PARSED_VALUE_CACHE_SIZE = 1024;
+    private static final int MAX_INTERPOLATION_DEPTH = 32;
+    private static final InterpolationTemplate NOT_COMPILABLE = InterpolationTemplate.compile("");
+
+    private static final String PROFILE_KEY = "kumuluzee.config.profile";
+
+    private final ConverterRegistry converters;
     private final List<ConfigSource> configSources;
-    private Boolean resolveInterpolations = null;
+    // KumuluzEE sources which report changes
+    private final List<ConfigSourceAdapter> changingSources;
+    private boolean resolveInterpolations = false;
 
     private List<String> configurationProfiles;
 
+    private final Map<String, ConfigKey> keys = new ConcurrentHashMap<>();
+    private final Map<String, CachedValue> valueCache = new ConcurrentHashMap<>();
+    private final Map<String, CachedValue> rawValueCache = new ConcurrentHashMap<>();
+    private final LruCache<String, InterpolationTemplate> templates = new LruCache<>(PARSED_VALUE_CACHE_SIZE);
+    private final LruCache<String, List<String>> tokenizedValues = new LruCache<>(PARSED_VALUE_CACHE_SIZE);
+    private final Set<String> watchedKeys = ConcurrentHashMap.newKeySet();
+    private final AtomicLong cacheEpoch = new AtomicLong();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private boolean cacheEnabled = false;
+    private LruCache<ConvertedValueKey, ConvertedValue> convertedValues = null;
+    private ConfigSnapshotIndex snapshot = null;
+    private boolean[] immutableSources = null;
+    // sources which don't report changes, null if there are none
+    private boolean[] liveSources = null;
+    private final Set<String> snapshotOverrides = ConcurrentHashMap.newKeySet();
+    private final Map<String, Set<String>> dependents = new ConcurrentHashMap<>();
+    // reverse of dependents: properties referenced by the cached value of each property
+    private final Map<String, Set<String>> dependencies = new ConcurrentHashMap<>();
+    private Set<String> cyclicKeys = Collections.emptySet();
+    private volatile Set<String> propertyNames = null;
+    private transient ConfigurationListener changeListener;
+    private volatile boolean released = false;
+
     public ConfigImpl(List<ConfigSource> configSources, Map<Type, Converter<?>> converters) {
         this.configSources = Collections.unmodifiableList(configSources);
-        this.converters = converters;
+        this.converters = new ConverterRegistry(converters);
 
         this.configurationProfiles = Collections.emptyList();
-        this.configurationProfiles = getOptionalValue("kumuluzee.config.profile", String.class)
+        // resolved eagerly, before any other value, instead of lazily on the first (possibly concurrent) lookup
+        this.resolveInterpolations = getOptionalValue("mp.config.property.expressions.enabled", boolean.class)
+                .orElse(true);
+        this.configurationProfiles = getOptionalValue(PROFILE_KEY, String.class)
                 .or(() -> getOptionalValue("mp.config.profile", String.class))
                 .map(s -> s.split(","))
                 .map(Arrays::asList)
                 .orElse(Collections.emptyList());
         Collections.reverse(this.configurationProfiles);
+        // keys interned while reading the profile are not bound to the active profiles
+        this.keys.clear();
+
+        this.cacheEnabled = getOptionalValue(CACHE_ENABLED_KEY, boolean.class).orElse(true);
+
+        int convertedCacheSize = getOptionalValue(CONVERTED_CACHE_SIZE_KEY, int.class)
+                .orElse(DEFAULT_CONVERTED_CACHE_SIZE);
+        if (this.cacheEnabled && convertedCacheSize > 0) {
+            this.convertedValues = new LruCache<>(convertedCacheSize);
+        }
+
+        if (this.cacheEnabled) {
+            this.liveSources = findLiveSources();
+            buildSnapshot();
+            detectCycles();
+        }
+
+        this.changingSources = findChangingSources();
+
+        if (!this.changingSources.isEmpty()) {
+            // KumuluzEE configuration sources report changes of watched keys through the configuration dispatcher
+            this.changeListener = (key, value) -> {
+                // adapters update their materialized properties first, invalidated values are re-read from them
+                for (ConfigSourceAdapter adapter : this.changingSources) {
+                    adapter.onChange(key);
+                }
+
+                if (!this.cacheEnabled) {
+                    return;
+                }
+
+                List<String> changedNames = new ArrayList<>();
+                collectSnapshotNames(key, changedNames);
+
+                if (this.snapshot != null) {
+                    this.snapshotOverrides.addAll(changedNames);
+                }
+                changedNames.forEach(this::invalidate);
+                updatePropertyNames(key, value);
+            };
+            ConfigurationChanges.addListener(this.changeListener);
+        }
+    }
+
+    /**
+     * Finds KumuluzEE configuration sources which report their changes through the configuration dispatcher.
+     */
+    private List<ConfigSourceAdapter> findChangingSources() {
+
+        List<ConfigSourceAdapter> changing = new ArrayList<>();
+
+        for (ConfigSource cs : this.configSources) {
+            if (cs instanceof ConfigSourceAdapter && !ConfigSourceAdapter.isImmutable(cs) &&
+                    ConfigSourceAdapter.isCacheable(cs)) {
+                changing.add((ConfigSourceAdapter) cs);
+            }
+        }
+
+        return changing;
+    }
+
+    /**
+     * Finds config sources whose values can't be cached, because their changes are not reported.
+     */
+    private boolean[] findLiveSources() {
+
+        boolean[] live = new boolean[this.configSources.size()];
+        boolean found = false;
+
+        for (int i = 0; i < live.length; i++) {
+            live[i] = !ConfigSourceAdapter.isCacheable(this.configSources.get(i));
+            found |= live[i];
+        }
+
+        return found ? live : null;
+    }
+
+    /**
+     * Builds a merged index of raw values provided by immutable config sources, with ordinal precedence and active
+     * profiles already applied. Lookups of indexed keys only need to consult mutable sources with higher ordinal.
+     */
+    private void buildSnapshot() {
+
+        boolean[] immutable = new boolean[this.configSources.size()];
+        Set<String> candidates = new HashSet<>();
+
+        for (int i = 0; i < immutable.length; i++) {
+            ConfigSource cs = this.configSources.get(i);
+
+            if (!ConfigSourceAdapter.isImmutable(cs)) {
+                continue;
+            }
+
+            Set<String> propertyNames;
+            try {
+                propertyNames = cs.getPropertyNames();
+            } catch (RuntimeException e) {
+                propertyNames = null;
+            }
+
+            if (propertyNames != null) {
+                // sources which can't list their properties are always consulted directly
+                immutable[i] = true;
+                propertyNames.forEach(name -> collectSnapshotNames(name, candidates));
+            }
+        }
+
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        ConfigSnapshotIndex index = new ConfigSnapshotIndex(candidates.size());
+        for (String name : candidates) {
+            // keys are not interned, most of them are never looked up
+            ConfigKey key = new ConfigKey(name, this.configurationProfiles);
+
+            for (int i = 0; i < immutable.length; i++) {
+                if (immutable[i]) {
+                    String rawValue = getRawValue(this.configSources.get(i), key);
+
+                    if (rawValue != null) {
+                        index.putIfAbsent(name, rawValue, i);
+                        break;
+                    }
+                }
+            }
+        }
+
+        this.immutableSources = immutable;
+        this.snapshot = index;
+    }
+
+    /**
+     * Finds indexed keys with property expressions which (transitively) reference themselves. Reading such keys fails
+     * immediately instead of recursing until the expansion depth is exceeded. Cycles are only final when all sources
+     * are indexed, otherwise a mutable source may define one of the keys and break the cycle; such reads are left to
+     * the interpolation, which detects the cycles of the effective values.
+     */
+    private void detectCycles() {
+
+        if (this.snapshot == null) {
+            return;
+        }
+
+        for (boolean immutable : this.immutableSources) {
+            if (!immutable) {
+                return;
+            }
+        }
+
+        Map<String, List<String>> references = new HashMap<>();
+        this.snapshot.forEach((key, rawValue) -> {
+            if (rawValue.contains("${")) {
+                InterpolationTemplate template = InterpolationTemplate.compile(rawValue);
+
+                if (template != null) {
+                    references.put(key, template.getReferences());
+                }
+            }
+        });
+
+        Map<String, Boolean> visited = new HashMap<>();
+        Set<String> cyclic = new HashSet<>();
+        for (String key : references.keySet()) {
+            detectCycles(key, references, visited, cyclic);
+        }
+
+        if (!cyclic.isEmpty()) {
+            this.cyclicKeys = cyclic;
+        }
+    }
+
+    /**
+     * @return true if expansion of the key reaches a cycle
+     */
+    private static boolean detectCycles(String key, Map<String, List<String>> references,
+                                        Map<String, Boolean> visited, Set<String> cyclic) {
+
+        if (visited.containsKey(key)) {
+            // null marks a key which is currently being expanded
+            Boolean reachesCycle = visited.get(key);
+            return reachesCycle == null || reachesCycle;
+        }
+
+        visited.put(key, null);
+
+        boolean reachesCycle = false;
+        for (String reference : references.getOrDefault(key, Collections.emptyList())) {
+            reachesCycle |= detectCycles(reference, references, visited, cyclic);
+        }
+
+        visited.put(key, reachesCycle);
+        if (reachesCycle) {
+            cyclic.add(key);
+        }
+
+        return reachesCycle;
+    }
+
+    /**
+     * Collects names of properties, which may be resolved from the given source property name: the name itself
+     * (with active profile prefix removed) and names of all lists it is an element of.
+     */
+    private void collectSnapshotNames(String name, Collection<String> names) {
+
+        if (name.startsWith("%")) {
+            String plainName = null;
+
+            for (String profile : this.configurationProfiles) {
+                if (name.startsWith(profile + ".", 1)) {
+                    plainName = name.substring(profile.length() + 2);
+                    break;
+                }
+            }
+
+            if (plainName == null) {
+                // property of an inactive profile
+                return;
+            }
+            name = plainName;
+        }
+
+        names.add(name);
+
+        for (int i = name.indexOf('['); i > 0; i = name.indexOf('[', i + 1)) {
+            names.add(name.substring(0, i));
+        }
+    }
+
+    /**
+     * Returns interned {@link ConfigKey} for the given property name, bound to the active configuration profiles.
+     */
+    public ConfigKey getKey(String propertyName) {
+
+        ConfigKey key = this.keys.get(propertyName);
+
+        if (key == null) {
+            key = this.keys.computeIfAbsent(propertyName, n -> new ConfigKey(n, this.configurationProfiles));
+        }
+
+        return key;
+    }
+
+    /**
+     * Returns a handle to the given property with the converter and the profile-specific keys resolved in advance.
+     * The handle reuses the converted value until the configuration changes.
+     *
+     * @param defaultValue value returned when the property is not configured, {@code null} for none
+     */
+    public <T> ConfigHandle<T> handle(String propertyName, Class<T> asType, T defaultValue) {
+        return new ConfigHandle<>(this, getKey(propertyName), asType, defaultValue);
+    }
+
+    public <T> ConfigHandle<T> handle(String propertyName, Class<T> asType) {
+        return handle(propertyName, asType, null);
     }
 
     public <T> Optional<T> getOptionalValue(String propertyName, Class<T> asType, String defaultValue) {
+        return getOptionalValue(this.getConfigValue(propertyName), asType, defaultValue);
+    }
+
+    public <T> Optional<T> getOptionalValue(ConfigKey key, Class<T> asType, String defaultValue) {
+        return getOptionalValue(this.getConfigValue(key), asType, defaultValue);
+    }
+
+    private <T> Optional<T> getOptionalValue(ConfigValue configValue, Class<T> asType, String defaultValue) {
 
         String value;
-        ConfigValue configValue = this.getConfigValue(propertyName);
 
         if (configValue.getSourceName() == null || configValue.getValue().isEmpty()) {
             if (ConfigProperty.UNCONFIGURED_VALUE.equals(defaultValue) || defaultValue == null ||
@@ -84,7 +393,7 @@ public class ConfigImpl implements Config, Serializable {
 
         T convertedValue;
         try {
-            convertedValue = convert(value, asType);
+            convertedValue = convertCached(configValue.getName(), value, asType);
         } catch (Exception e) {
             throw new IllegalArgumentException("Could not convert value " + value + " to type " + asType, e);
         }
@@ -92,11 +401,54 @@ public class ConfigImpl implements Config, Serializable {
         return Optional.ofNullable(convertedValue);
     }
 
+    /**
+     * Converts the value of the given property, reusing the previously converted instance if the value has not
+     * changed since the last conversion to the same type. Only values of immutable types are reused, instances of
+     * other types could be modified by the caller.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T convertCached(String propertyName, String value, Class<T> asType) {
+
+        if (this.convertedValues == null || !ImmutableTypesUtil.isImmutable(asType)) {
+            return convert(value, asType);
+        }
+
+        ConvertedValueKey cacheKey = new ConvertedValueKey(propertyName, asType);
+        ConvertedValue cached = this.convertedValues.get(cacheKey);
+
+        T convertedValue;
+        if (cached != null && value.equals(cached.rawValue)) {
+            convertedValue = (T) cached.value;
+        } else {
+            convertedValue = convert(value, asType);
+            this.convertedValues.put(cacheKey, new ConvertedValue(value, convertedValue));
+        }
+
+        if (convertedValue != null && asType.isArray()) {
+            // arrays are mutable, never share the cached instance
+            return (T) copyArray(convertedValue);
+        }
+
+        return convertedValue;
+    }
+
+    private static Object copyArray(Object array) {
+        int length = Array.getLength(array);
+        Object copy = Array.newInstance(array.getClass().getComponentType(), length);
+        System.arraycopy(array, 0, copy, 0, length);
+
+        return copy;
+    }
+
     @Override
     public <T> Optional<T> getOptionalValue(String propertyName, Class<T> asType) {
         return getOptionalValue(propertyName, asType, null);
     }
 
+    public <T> Optional<T> getOptionalValue(ConfigKey key, Class<T> asType) {
+        return getOptionalValue(key, asType, null);
+    }
+
     @Override
     public <T> T getValue(String propertyName, Class<T> propertyType) {
 
@@ -109,6 +461,201 @@ public class ConfigImpl implements Config, Serializable {
         return valueOpt.get();
     }
 
+    public <T> T getValue(ConfigKey key, Class<T> propertyType) {
+
+        Optional<T> valueOpt = getOptionalValue(key, propertyType);
+
+        if (valueOpt.isEmpty()) {
+            throw new NoSuchElementException("No configured value found for config key " + key.getName());
+        }
+
+        return valueOpt.get();
+    }
+
+    public int getInt(String propertyName, int defaultValue) {
+        return getInt(getConfigValue(propertyName), defaultValue);
+    }
+
+    public int getInt(ConfigKey key, int defaultValue) {
+        return getInt(getConfigValue(key), defaultValue);
+    }
+
+    /**
+     * Returns the int value of the property.
+     *
+     * @throws NoSuchElementException if the property is not configured or empty
+     */
+    public int getInt(ConfigKey key) {
+        return toInt(getRequiredValue(key));
+    }
+
+    public long getLong(String propertyName, long defaultValue) {
+        return getLong(getConfigValue(propertyName), defaultValue);
+    }
+
+    public long getLong(ConfigKey key, long defaultValue) {
+        return getLong(getConfigValue(key), defaultValue);
+    }
+
+    /**
+     * Returns the long value of the property.
+     *
+     * @throws NoSuchElementException if the property is not configured or empty
+     */
+    public long getLong(ConfigKey key) {
+        return toLong(getRequiredValue(key));
+    }
+
+    public double getDouble(String propertyName, double defaultValue) {
+        return getDouble(getConfigValue(propertyName), defaultValue);
+    }
+
+    public double getDouble(ConfigKey key, double defaultValue) {
+        return getDouble(getConfigValue(key), defaultValue);
+    }
+
+    /**
+     * Returns the double value of the property.
+     *
+     * @throws NoSuchElementException if the property is not configured or empty
+     */
+    public double getDouble(ConfigKey key) {
+        return toDouble(getRequiredValue(key));
+    }
+
+    public boolean getBoolean(String propertyName, boolean defaultValue) {
+        return getBoolean(getConfigValue(propertyName), defaultValue);
+    }
+
+    public boolean getBoolean(ConfigKey key, boolean defaultValue) {
+        return getBoolean(getConfigValue(key), defaultValue);
+    }
+
+    /**
+     * Returns the boolean value of the property.
+     *
+     * @throws NoSuchElementException if the property is not configured or empty
+     */
+    public boolean getBoolean(ConfigKey key) {
+        return toBoolean(getRequiredValue(key));
+    }
+
+    private int getInt(ConfigValue configValue, int defaultValue) {
+
+        String value = getPresentValue(configValue);
+
+        return (value == null) ? defaultValue : toInt(value);
+    }
+
+    private int toInt(String value) {
+
+        if (this.converters.get(Integer.class) != IntegerConverter.INSTANCE) {
+            return convertValue(value, Integer.class);
+        }
+
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Could not convert value " + value + " to type int", e);
+        }
+    }
+
+    private long getLong(ConfigValue configValue, long defaultValue) {
+
+        String value = getPresentValue(configValue);
+
+        return (value == null) ? defaultValue : toLong(value);
+    }
+
+    private long toLong(String value) {
+
+        if (this.converters.get(Long.class) != LongConverter.INSTANCE) {
+            return convertValue(value, Long.class);
+        }
+
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Could not convert value " + value + " to type long", e);
+        }
+    }
+
+    private double getDouble(ConfigValue configValue, double defaultValue) {
+
+        String value = getPresentValue(configValue);
+
+        return (value == null) ? defaultValue : toDouble(value);
+    }
+
+    private double toDouble(String value) {
+
+        if (this.converters.get(Double.class) != DoubleConverter.INSTANCE) {
+            return convertValue(value, Double.class);
+        }
+
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Could not convert value " + value + " to type double", e);
+        }
+    }
+
+    private boolean getBoolean(ConfigValue configValue, boolean defaultValue) {
+
+        String value = getPresentValue(configValue);
+
+        return (value == null) ? defaultValue : toBoolean(value);
+    }
+
+    private boolean toBoolean(String value) {
+
+        if (this.converters.get(Boolean.class) != BooleanConverter.INSTANCE) {
+            return convertValue(value, Boolean.class);
+        }
+
+        // BooleanConverter only returns cached Boolean instances
+        return BooleanConverter.INSTANCE.convert(value);
+    }
+
+    /**
+     * Returns the value or null if the property is not configured or empty.
+     */
+    private static String getPresentValue(ConfigValue configValue) {
+
+        if (configValue.getSourceName() == null || configValue.getValue().isEmpty()) {
+            return null;
+        }
+
+        return configValue.getValue();
+    }
+
+    private String getRequiredValue(ConfigKey key) {
+
+        String value = getPresentValue(getConfigValue(key));
+
+        if (value == null) {
+            throw new NoSuchElementException("No configured value found for config key " + key.getName());
+        }
+
+        return value;
+    }
+
+    private <T> T convertValue(String value, Class<T> asType) {
+
+        T convertedValue;
+        try {
+            convertedValue = convert(value, asType);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Could not convert value " + value + " to type " + asType, e);
+        }
+
+        if (convertedValue == null) {
+            throw new IllegalArgumentException("Could not convert value " + value + " to type " + asType);
+        }
+
+        return convertedValue;
+    }
+
     @Override
     public <T> Optional<List<T>> getOptionalValues(String propertyName, Class<T> asType) {
 
@@ -145,55 +692,556 @@ public class ConfigImpl implements Config, Serializable {
     }
 
     public ConfigValue getConfigValue(String propertyName, boolean resolveInterpolations) {
+        return getConfigValue(getKey(propertyName), resolveInterpolations);
+    }
+
+    private ConfigValue getConfigValue(ConfigKey key, boolean resolveInterpolations) {
+        return getConfigValue(key, resolveInterpolations, null);
+    }
+
+    /**
+     * @param resolution receives the position of the source and the references of the value, may be null
+     */
+    private ConfigValue getConfigValue(ConfigKey key, boolean resolveInterpolations, Resolution resolution) {
 
+        String propertyName = key.getName();
         String rawValue = null;
         String value = null;
+        ConfigSource configSource = null;
         String configSourceName = null;
         int configSourceOrdinal = 0;
 
-        for (ConfigSource cs : this.configSources) {
+        int snapshotSlot = findInSnapshot(propertyName);
+        // with a snapshot hit only mutable sources with higher ordinal need to be consulted
+        int sourceCount = (snapshotSlot < 0) ? this.configSources.size() : snapshot.getSourcePosition(snapshotSlot);
+        int sourcePosition = this.configSources.size();
 
-            for (String profile : this.configurationProfiles) {
-                rawValue = cs.getValue("%" + profile + "." + propertyName);
+        for (int i = 0; i < sourceCount; i++) {
 
-                if (rawValue != null) {
-                    break;
-                }
+            if (snapshotSlot >= 0 && this.immutableSources[i]) {
+                continue;
             }
 
-            if (rawValue == null) {
-                rawValue = cs.getValue(propertyName);
-            }
+            ConfigSource cs = this.configSources.get(i);
+            rawValue = getRawValue(cs, key);
 
             if (rawValue != null) {
-                configSourceName = cs.getName();
-                configSourceOrdinal = cs.getOrdinal();
-
-                if (resolveInterpolations) {
-                    value = ConfigurationInterpolationUtil.interpolateString(rawValue,
-                            s -> Optional.ofNullable(this.getConfigValue(s, false).getValue())
-                    );
-                } else {
-                    value = rawValue;
-                }
+                configSource = cs;
+                sourcePosition = i;
                 break;
             }
         }
 
+        boolean fromSnapshot = false;
+        if (rawValue == null && snapshotSlot >= 0) {
+            rawValue = snapshot.getValue(snapshotSlot);
+            configSource = this.configSources.get(sourceCount);
+            sourcePosition = sourceCount;
+            fromSnapshot = true;
+        }
+
+        if (resolution != null) {
+            resolution.sourcePosition = sourcePosition;
+        }
+
+        if (rawValue != null) {
+            configSourceName = configSource.getName();
+            configSourceOrdinal = configSource.getOrdinal();
+
+            if (resolveInterpolations) {
+                if (fromSnapshot && this.cyclicKeys.contains(propertyName)) {
+                    throw new IllegalArgumentException("Property expression of config key " + propertyName +
+                            " contains a reference cycle");
+                }
+                value = interpolate(propertyName, rawValue,
+                        (resolution == null) ? null : resolution.references);
+            } else {
+                value = rawValue;
+            }
+        }
+
         return new ConfigValueImpl(propertyName, value, rawValue, configSourceName, configSourceOrdinal);
     }
 
+    /**
+     * @param references receives names of all (transitively) referenced properties, may be null
+     */
+    private String interpolate(String propertyName, String rawValue, Collection<String> references) {
+
+        if (rawValue.indexOf('$') < 0) {
+            return rawValue;
+        }
+
+        List<String> expansionChain = new ArrayList<>();
+        expansionChain.add(propertyName);
+        String value = interpolateCompiled(propertyName, rawValue, expansionChain, references);
+
+        if (value == null) {
+            // expression is not supported by compiled templates or is invalid, let the interpolation util handle it
+            value = ConfigurationInterpolationUtil.interpolateString(rawValue, s -> {
+                addDependent(s, propertyName, references);
+                return Optional.ofNullable(this.getRawConfigValue(s).getValue());
+            });
+        }
+
+        return value;
+    }
+
+    /**
+     * Resolves the value with a compiled template.
+     *
+     * @param propertyName   property whose value is being resolved
+     * @param rawValue       raw value of the property or of one of the properties it references
+     * @param expansionChain properties currently being expanded
+     * @param references     receives names of referenced properties, may be null
+     * @return resolved value or null if the value could not be resolved with a template
+     */
+    private String interpolateCompiled(String propertyName, String rawValue, List<String> expansionChain,
+                                       Collection<String> references) {
+
+        if (expansionChain.size() > MAX_INTERPOLATION_DEPTH) {
+            return null;
+        }
+
+        InterpolationTemplate template = getTemplate(rawValue);
+        if (template == null) {
+            return null;
+        }
+
+        return template.resolve(reference -> {
+            if (expansionChain.contains(reference)) {
+                throw new IllegalArgumentException("Property expression of config key " + propertyName +
+                        " contains a reference cycle");
+            }
+
+            addDependent(reference, propertyName, references);
+            String referencedValue = getRawConfigValue(reference).getValue();
+
+            if (referencedValue == null) {
+                return null;
+            }
+            if (referencedValue.isEmpty()) {
+                return InterpolationTemplate.UNRESOLVABLE;
+            }
+            if (referencedValue.indexOf('$') < 0) {
+                return referencedValue;
+            }
+
+            expansionChain.add(reference);
+            String resolved = interpolateCompiled(propertyName, referencedValue, expansionChain, references);
+            expansionChain.remove(expansionChain.size() - 1);
+
+            return (resolved == null) ? InterpolationTemplate.UNRESOLVABLE : resolved;
+        });
+    }
+
+    /**
+     * Records that the resolved value of the dependent property must be invalidated when the property changes.
+     */
+    private void addDependent(String propertyName, String dependent, Collection<String> references) {
+
+        if (references != null) {
+            references.add(propertyName);
+        }
+
+        if (!this.cacheEnabled) {
+            return;
+        }
+
+        // atomic with removeDependent, which drops empty sets
+        this.dependents.compute(propertyName, (k, propertyDependents) -> {
+            if (propertyDependents == null) {
+                propertyDependents = ConcurrentHashMap.newKeySet();
+            }
+            propertyDependents.add(dependent);
+            return propertyDependents;
+        });
+    }
+
+    private void removeDependent(String propertyName, String dependent) {
+        this.dependents.computeIfPresent(propertyName, (k, propertyDependents) -> {
+            propertyDependents.remove(dependent);
+            return propertyDependents.isEmpty() ? null : propertyDependents;
+        });
+    }
+
+    /**
+     * Replaces the recorded references of a re-resolved property, so that properties it no longer references don't
+     * keep it as a dependent.
+     *
+     * @param references properties referenced by the new value
+     * @param cached     true if the new value was cached, references of values which are not cached are not kept
+     */
+    private void updateDependencies(String propertyName, Collection<String> references, boolean cached) {
+
+        Set<String> current = (cached && !references.isEmpty()) ? new HashSet<>(references) : null;
+        Set<String> previous = (current == null) ? this.dependencies.remove(propertyName) :
+                this.dependencies.put(propertyName, current);
+
+        if (previous == null && (current != null || references.isEmpty())) {
+            return;
+        }
+
+        Set<String> stale = new HashSet<>();
+        if (previous != null) {
+            stale.addAll(previous);
+        }
+        if (current == null) {
+            stale.addAll(references);
+        } else {
+            stale.removeAll(current);
+        }
+
+        for (String reference : stale) {
+            removeDependent(reference, propertyName);
+        }
+    }
+
+    private InterpolationTemplate getTemplate(String rawValue) {
+
+        InterpolationTemplate template = this.templates.get(rawValue);
+
+        if (template == null) {
+            template = InterpolationTemplate.compile(rawValue);
+            this.templates.put(rawValue, (template == null) ? NOT_COMPILABLE : template);
+        } else if (template == NOT_COMPILABLE) {
+            return null;
+        }
+
+        return template;
+    }
+
+    /**
+     * Returns value of the property without resolving property expressions.
+     */
+    private ConfigValue getRawConfigValue(String propertyName) {
+
+        if (!this.cacheEnabled) {
+            return getConfigValue(propertyName, false);
+        }
+
+        CachedValue cached = this.rawValueCache.get(propertyName);
+
+        if (cached != null && isCurrent(cached, propertyName)) {
+            return cached.value;
+        }
+
+        long epoch = this.cacheEpoch.get();
+        Resolution resolution = new Resolution();
+        ConfigValue configValue = getConfigValue(getKey(propertyName), false, resolution);
+
+        if (isCacheable(resolution)) {
+            cached = new CachedValue(configValue, resolution);
+            this.rawValueCache.put(propertyName, cached);
+
+            if (this.cacheEpoch.get() != epoch) {
+                this.rawValueCache.remove(propertyName, cached);
+            }
+        }
+
+        if (this.watchedKeys.add(propertyName)) {
+            watchKey(getKey(propertyName));
+        }
+
+        return configValue;
+    }
+
+    /**
+     * Checks if the value can be cached: it doesn't come from a source which doesn't report changes and it doesn't
+     * reference properties defined in such sources.
+     */
+    private boolean isCacheable(Resolution resolution) {
+
+        if (this.liveSources == null) {
+            return true;
+        }
+
+        if (resolution.sourcePosition < this.liveSources.length && this.liveSources[resolution.sourcePosition]) {
+            return false;
+        }
+
+        for (String reference : resolution.references) {
+            if (isDefinedInLiveSource(getKey(reference), this.liveSources.length)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if the cached value is still current, i.e. the property (or a property it references) has not been
+     * defined in a source which doesn't report changes since the value was cached.
+     */
+    private boolean isCurrent(CachedValue cached, String propertyName) {
+
+        if (this.liveSources == null) {
+            return true;
+        }
+
+        if (isDefinedInLiveSource(getKey(propertyName), cached.sourcePosition)) {
+            return false;
+        }
+
+        for (String reference : cached.references) {
+            if (isDefinedInLiveSource(getKey(reference), this.liveSources.length)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @param limit only sources with a higher precedence than the source at this position are checked
+     */
+    private boolean isDefinedInLiveSource(ConfigKey key, int limit) {
+
+        for (int i = 0; i < limit; i++) {
+            if (this.liveSources[i] && getRawValue(this.configSources.get(i), key) != null) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private int findInSnapshot(String propertyName) {
+
+        if (this.snapshot == null || this.snapshotOverrides.contains(propertyName)) {
+            return -1;
+        }
+
+        return this.snapshot.find(propertyName);
+    }
+
+    private static String getRawValue(ConfigSource cs, ConfigKey key) {
+
+        for (String profileName : key.getProfileNames()) {
+            String rawValue = cs.getValue(profileName);
+
+            if (rawValue != null) {
+                return rawValue;
+            }
+        }
+
+        return cs.getValue(key.getName());
+    }
+
     @Override
     public ConfigValue getConfigValue(String propertyName) {
 
-        if (this.resolveInterpolations == null) {
-            this.resolveInterpolations = false;
-            this.resolveInterpolations = this
-                    .getOptionalValue("mp.config.property.expressions.enabled", boolean.class)
-                    .orElse(true);
+        if (this.cacheEnabled) {
+            CachedValue cached = this.valueCache.get(propertyName);
+
+            if (cached != null && isCurrent(cached, propertyName)) {
+                this.cacheHits.increment();
+                return cached.value;
+            }
+        }
+
+        return getConfigValue(getKey(propertyName));
+    }
+
+    public ConfigValue getConfigValue(ConfigKey key) {
+
+        if (!key.isBoundTo(this.configurationProfiles)) {
+            // key was interned by a different Config instance
+            key = getKey(key.getName());
+        }
+
+        if (!this.cacheEnabled) {
+            return getConfigValue(key, this.resolveInterpolations);
+        }
+
+        String propertyName = key.getName();
+        CachedValue cached = this.valueCache.get(propertyName);
+
+        if (cached != null && isCurrent(cached, propertyName)) {
+            this.cacheHits.increment();
+            return cached.value;
+        }
+
+        this.cacheMisses.increment();
+
+        long epoch = this.cacheEpoch.get();
+        Resolution resolution = new Resolution();
+        ConfigValue configValue = getConfigValue(key, this.resolveInterpolations, resolution);
+
+        boolean cacheable = isCacheable(resolution);
+
+        if (cacheable) {
+            cached = new CachedValue(configValue, resolution);
+            this.valueCache.put(propertyName, cached);
+
+            if (this.cacheEpoch.get() != epoch) {
+                // sources changed while the value was being resolved, the value may already be stale
+                this.valueCache.remove(propertyName, cached);
+            }
+        }
+
+        updateDependencies(propertyName, resolution.references, cacheable);
+
+        if (this.watchedKeys.add(propertyName)) {
+            watchKey(key);
         }
 
-        return getConfigValue(propertyName, this.resolveInterpolations);
+        return configValue;
+    }
+
+    /**
+     * Clears all cached configuration values. Invoked automatically when a KumuluzEE configuration source reports a
+     * change, can also be called when a {@link ConfigSource} is known to have changed.
+     */
+    public void invalidate() {
+        this.cacheEpoch.incrementAndGet();
+        this.valueCache.clear();
+        this.rawValueCache.clear();
+        this.dependents.clear();
+        this.dependencies.clear();
+        this.propertyNames = null;
+    }
+
+    /**
+     * Removes the cached value of the given property and of all properties which reference it in property
+     * expressions.
+     */
+    public void invalidate(String propertyName) {
+
+        this.cacheEpoch.incrementAndGet();
+
+        Deque<String> pending = new ArrayDeque<>();
+        Set<String> invalidated = new HashSet<>();
+        pending.add(propertyName);
+
+        while (!pending.isEmpty()) {
+            String name = pending.poll();
+
+            if (invalidated.add(name)) {
+                this.valueCache.remove(name);
+                this.rawValueCache.remove(name);
+
+                Set<String> propertyDependents = this.dependents.get(name);
+                if (propertyDependents != null) {
+                    pending.addAll(propertyDependents);
+                }
+
+                // references are recorded again when the property is resolved
+                Set<String> references = this.dependencies.remove(name);
+                if (references != null) {
+                    for (String reference : references) {
+                        removeDependent(reference, name);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the change epoch, which is incremented whenever cached values are invalidated. Values resolved under
+     * the same epoch are still current.
+     */
+    public long getCacheEpoch() {
+        return cacheEpoch.get();
+    }
+
+    /**
+     * Stops listening for changes of KumuluzEE configuration sources, so that the configuration dispatcher no longer
+     * references this config. Invoked when the config is released.
+     */
+    synchronized void release() {
+
+        this.released = true;
+
+        ConfigurationListener listener = this.changeListener;
+
+        if (listener != null) {
+            this.changeListener = null;
+            ConfigurationChanges.removeListener(listener);
+        }
+
+        for (ConfigSource configSource : this.configSources) {
+            if (configSource instanceof ConfigSourceAdapter) {
+                ((ConfigSourceAdapter) configSource).release();
+            }
+        }
+    }
+
+    /**
+     * Checks if the config was released. Released configs still resolve values, but are no longer updated when
+     * KumuluzEE configuration sources change, callers which keep them should look up the current config instead.
+     */
+    public boolean isReleased() {
+        return released;
+    }
+
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
+    /**
+     * Checks if every change of the configuration increments the {@link #getCacheEpoch() change epoch}. If the config
+     * contains sources which don't report changes (e.g. system properties), values must be re-read to detect changes.
+     */
+    public boolean isChangeTracked() {
+        return cacheEnabled && liveSources == null;
+    }
+
+    /**
+     * Checks if every change of the given property increments the {@link #getCacheEpoch() change epoch}: its value is
+     * cached and neither the property nor a property it references is defined in a source which doesn't report
+     * changes. Unlike {@link #isChangeTracked()}, this holds for most properties even when system properties are
+     * among the sources.
+     */
+    public boolean isChangeTracked(ConfigKey key) {
+
+        if (!this.cacheEnabled) {
+            return false;
+        }
+        if (this.liveSources == null) {
+            return true;
+        }
+
+        CachedValue cached = this.valueCache.get(key.getName());
+
+        return cached != null && isCurrent(cached, key.getName());
+    }
+
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    /**
+     * Requests change notifications for the key and its profile-specific variants from the KumuluzEE configuration
+     * sources whose values are cached and may change. Keys are watched once their values are cached, changes of
+     * other keys are only reported by sources which report changes of all their keys.
+     */
+    private void watchKey(ConfigKey key) {
+
+        if (this.changeListener == null) {
+            return;
+        }
+
+        for (String profileName : key.getProfileNames()) {
+            watchKey(profileName);
+        }
+        watchKey(key.getName());
+    }
+
+    private void watchKey(String name) {
+
+        if (ConfigurationChanges.subscribe(name)) {
+            // subscribing already watched the key in all KumuluzEE configuration sources
+            return;
+        }
+
+        for (ConfigSourceAdapter adapter : this.changingSources) {
+            adapter.watch(name);
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -204,6 +1252,11 @@ public class ConfigImpl implements Config, Serializable {
         }
 
         if (asType.isArray()) {
+            Converter<T> arrayConverter = this.converters.get(asType);
+            if (arrayConverter instanceof PrimitiveArrayConverter) {
+                return arrayConverter.convert(value);
+            }
+
             Class<?> arrayType = asType.getComponentType();
             List<?> a = convertList(value, arrayType);
 
@@ -231,25 +1284,75 @@ public class ConfigImpl implements Config, Serializable {
             throw new NullPointerException();
         }
 
-        String[] tokens = value.split(ArrayConverter.ARRAY_SEPARATOR_REGEX);
+        List<String> tokens = tokenize(value);
 
         Converter<T> converter = getConverter(listType)
                 .orElseThrow(() -> new IllegalArgumentException("No Converter registered for class " + listType));
-        List<T> convertedList = new ArrayList<>(tokens.length);
+        List<T> convertedList = new ArrayList<>(tokens.size());
 
         for (String token : tokens) {
-            token = token.replace("\\,", ",");
-            if (!token.isEmpty()) {
-                convertedList.add(converter.convert(token));
-            }
+            convertedList.add(converter.convert(token));
         }
 
         return convertedList;
     }
 
+    private List<String> tokenize(String value) {
+
+        if (!this.cacheEnabled) {
+            return ListTokenizer.tokenize(value);
+        }
+
+        List<String> tokens = this.tokenizedValues.get(value);
+
+        if (tokens == null) {
+            tokens = ListTokenizer.tokenize(value);
+            this.tokenizedValues.put(value, tokens);
+        }
+
+        return tokens;
+    }
+
     @Override
     public Iterable<String> getPropertyNames() {
-        return this.configSources.stream().flatMap(e -> e.getPropertyNames().stream()).collect(Collectors.toSet());
+
+        Set<String> names = this.propertyNames;
+
+        if (names != null && this.liveSources == null) {
+            return Collections.unmodifiableSet(names);
+        }
+
+        // names are collected lazily, callers which only scan part of the names don't pay for the whole union
+        return PropertyNamesIterator::new;
+    }
+
+    /**
+     * Updates cached property names after a config source reported a change.
+     */
+    private void updatePropertyNames(String propertyName, String value) {
+
+        Set<String> names = this.propertyNames;
+
+        if (names == null) {
+            return;
+        }
+
+        if (value != null) {
+            names.add(propertyName);
+            return;
+        }
+
+        for (int i = 0; i < this.configSources.size(); i++) {
+            if (!isLiveSource(i) && this.configSources.get(i).getValue(propertyName) != null) {
+                return;
+            }
+        }
+
+        names.remove(propertyName);
+    }
+
+    private boolean isLiveSource(int position) {
+        return this.liveSources != null && this.liveSources[position];
     }
 
     @Override
@@ -260,37 +1363,176 @@ public class ConfigImpl implements Config, Serializable {
     @Override
     public <T> Optional<Converter<T>> getConverter(Class<T> aClass) {
 
-        Class<?> asType = (Class<?>) AlternativeTypesUtil.getTypeFromPrimitive(aClass).orElse(aClass);
+        return Optional.ofNullable(this.converters.get(aClass));
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> aClass) {
+
+        if (ConfigImpl.class.equals(aClass)) {
+            //noinspection unchecked
+            return (T) this;
+        }
 
-        Converter<?> converter = converters.get(asType);
+        throw new IllegalArgumentException("Not supported");
+    }
 
-        if (converter == null) {
-            // no registered converter, try to generate implicit converter
-            if (aClass.isArray()) {
-                Class<?> elementClass = aClass.getComponentType();
-                Converter<?> elementImplicitConverter = ImplicitConverter.getImplicitConverter(elementClass);
-                converter = new ArrayConverter(elementImplicitConverter, elementClass);
+    /**
+     * Iterates over property names of all config sources, skipping duplicates. Names of sources which report changes
+     * are iterated first. When they are all collected, they are cached if the config has not changed in the meantime.
+     * Names of sources which don't report changes (e.g. system properties) are never cached.
+     */
+    private class PropertyNamesIterator implements Iterator<String> {
+
+        // -1 if the collected names are not cached
+        private final long epoch;
+        private final Set<String> trackedNames;
+        private final boolean collecting;
+        private final Set<String> liveNames = new HashSet<>();
+        private boolean live = false;
+        private int position;
+        private Iterator<String> current;
+        private String next = null;
+
+        PropertyNamesIterator() {
+
+            Set<String> cached = propertyNames;
+
+            if (cached != null) {
+                this.epoch = -1;
+                this.trackedNames = cached;
+                this.collecting = false;
+                this.current = cached.iterator();
+                this.position = configSources.size();
             } else {
-                converter = ImplicitConverter.getImplicitConverter(asType);
+                this.epoch = cacheEnabled ? cacheEpoch.get() : -1;
+                this.trackedNames = ConcurrentHashMap.newKeySet();
+                this.collecting = true;
+                this.current = Collections.emptyIterator();
+                this.position = 0;
             }
         }
 
-        if (converter == null) {
-            return Optional.empty();
+        @Override
+        public boolean hasNext() {
+
+            while (next == null) {
+                if (current.hasNext()) {
+                    String name = current.next();
+
+                    if (live ? !trackedNames.contains(name) && liveNames.add(name) :
+                            !collecting || trackedNames.add(name)) {
+                        next = name;
+                    }
+                } else if (!nextSource()) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * Moves to the next source which reports changes or, once all of them were iterated, to the next source which
+         * doesn't report changes.
+         */
+        private boolean nextSource() {
+
+            for (; position < configSources.size(); position++) {
+                if (isLiveSource(position) == live) {
+                    current = configSources.get(position++).getPropertyNames().iterator();
+                    return true;
+                }
+            }
+
+            if (live) {
+                return false;
+            }
+
+            if (epoch >= 0 && propertyNames == null && cacheEpoch.get() == epoch) {
+                propertyNames = trackedNames;
+            }
+
+            live = true;
+            position = 0;
+
+            return nextSource();
         }
 
-        //noinspection unchecked
-        return Optional.of((Converter<T>) converter);
+        @Override
+        public String next() {
+
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            String name = next;
+            next = null;
+
+            return name;
+        }
     }
 
-    @Override
-    public <T> T unwrap(Class<T> aClass) {
+    /**
+     * Position of the source which provided the value (number of sources if the value was not found) and names of
+     * the properties referenced by its property expressions.
+     */
+    private static final class Resolution {
 
-        if (ConfigImpl.class.equals(aClass)) {
-            //noinspection unchecked
-            return (T) this;
+        private int sourcePosition;
+        private final List<String> references = new ArrayList<>(0);
+    }
+
+    private static final class CachedValue implements Serializable {
+
+        private final ConfigValue value;
+        private final int sourcePosition;
+        private final String[] references;
+
+        CachedValue(ConfigValue value, Resolution resolution) {
+            this.value = value;
+            this.sourcePosition = resolution.sourcePosition;
+            this.references = resolution.references.toArray(new String[0]);
         }
+    }
 
-        throw new IllegalArgumentException("Not supported");
+    private static final class ConvertedValueKey implements Serializable {
+
+        private final String propertyName;
+        private final Class<?> type;
+
+        ConvertedValueKey(String propertyName, Class<?> type) {
+            this.propertyName = propertyName;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ConvertedValueKey)) {
+                return false;
+            }
+            ConvertedValueKey that = (ConvertedValueKey) o;
+
+            return propertyName.equals(that.propertyName) && type.equals(that.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * propertyName.hashCode() + type.hashCode();
+        }
+    }
+
+    private static final class ConvertedValue implements Serializable {
+
+        private final String rawValue;
+        private final Object value;
+
+        ConvertedValue(String rawValue, Object value) {
+            this.rawValue = rawValue;
+            this.value = value;
+        }
     }
 }
@@ -0,0 +1,89 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Configuration key with precomputed profile-specific variants (e.g. {@code %dev.my.key}). Instances are interned by
+ * {@link ConfigImpl#getKey(String)} and can be held by callers to avoid building profile keys on every lookup.
+ *
+ * @since 2.1
+ */
+public final class ConfigKey implements Serializable {
+
+    private final String name;
+    private final String[] profileNames;
+    private final List<String> profiles;
+    private final int hash;
+
+    ConfigKey(String name, List<String> profiles) {
+        this.name = name;
+        this.profiles = profiles;
+        this.profileNames = new String[profiles.size()];
+
+        for (int i = 0; i < profileNames.length; i++) {
+            profileNames[i] = "%" + profiles.get(i) + "." + name;
+            // String caches its hash, compute it once upfront
+            profileNames[i].hashCode();
+        }
+
+        this.hash = name.hashCode();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns profile-specific variants of this key, ordered by descending profile priority.
+     */
+    String[] getProfileNames() {
+        return profileNames;
+    }
+
+    boolean isBoundTo(List<String> profiles) {
+        return this.profiles == profiles;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ConfigKey)) {
+            return false;
+        }
+
+        return name.equals(((ConfigKey) o).name);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -24,9 +24,18 @@ import org.eclipse.microprofile.config.Config;
 import org.eclipse.microprofile.config.spi.ConfigBuilder;
 import org.eclipse.microprofile.config.spi.ConfigProviderResolver;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 
 /**
- * Microprofile Config provider.
+ * Microprofile Config provider. Each class loader (application or module) gets its own {@link Config} instance, which
+ * is built once, even if it is requested by many threads at the same time.
  *
  * @author Urban Malc
  * @author Jan Meznarič
@@ -34,7 +43,8 @@ import org.eclipse.microprofile.config.spi.ConfigProviderResolver;
  */
 public class DefaultConfigProvider extends ConfigProviderResolver {
 
-    private Config instance = null;
+    private final ConcurrentMap<Object, CompletableFuture<Config>> configs = new ConcurrentHashMap<>();
+    private final ReferenceQueue<ClassLoader> releasedClassLoaders = new ReferenceQueue<>();
 
     @Override
     public Config getConfig() {
@@ -45,16 +55,66 @@ public class DefaultConfigProvider extends ConfigProviderResolver {
     @Override
     public Config getConfig(ClassLoader forClassLoader) {
 
-        if (instance == null) {
-            instance = getBuilder().addDefaultSources().addDiscoveredSources().addDiscoveredConverters().build();
+        ClassLoader classLoader = resolveClassLoader(forClassLoader);
+        CompletableFuture<Config> config = configs.get(new LookupKey(classLoader));
+
+        if (config == null) {
+            expungeReleasedClassLoaders();
+
+            PendingConfig created = new PendingConfig();
+            config = configs.putIfAbsent(new ClassLoaderKey(classLoader, releasedClassLoaders), created);
+
+            if (config == null) {
+                // only the thread which registered the future builds the config
+                config = created;
+                build(classLoader, created);
+            }
+        }
+
+        if (config instanceof PendingConfig && !config.isDone() &&
+                ((PendingConfig) config).builder == Thread.currentThread()) {
+            throw new IllegalStateException("Config was requested while it is being built");
+        }
+
+        try {
+            return config.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
         }
+    }
 
-        return instance;
+    private void build(ClassLoader classLoader, CompletableFuture<Config> future) {
+        try {
+            future.complete(getBuilder()
+                    .forClassLoader(classLoader)
+                    .addDefaultSources()
+                    .addDiscoveredSources()
+                    .addDiscoveredConverters()
+                    .build());
+        } catch (RuntimeException | Error e) {
+            // don't keep the failure, next request will try to build the config again
+            configs.remove(new LookupKey(classLoader), future);
+            future.completeExceptionally(e);
+        }
     }
 
     @Override
     public void registerConfig(Config config, ClassLoader forClassLoader) {
-        instance = config;
+        expungeReleasedClassLoaders();
+        CompletableFuture<Config> replaced = configs.put(new ClassLoaderKey(resolveClassLoader(forClassLoader),
+                releasedClassLoaders), CompletableFuture.completedFuture(config));
+
+        if (replaced != null) {
+            // a config which is still being built is released once it completes
+            replaced.thenAccept(previous -> {
+                if (previous != config) {
+                    release(previous);
+                }
+            });
+        }
     }
 
     @Override
@@ -65,10 +125,122 @@ public class DefaultConfigProvider extends ConfigProviderResolver {
 
     @Override
     public void releaseConfig(Config config) {
+        configs.values().removeIf(future -> future.isDone() && !future.isCompletedExceptionally() &&
+                future.join() == config);
+
+        release(config);
+    }
+
+    private static void release(Config config) {
+        if (config instanceof ConfigImpl) {
+            ((ConfigImpl) config).release();
+        }
+    }
+
+    private static ClassLoader resolveClassLoader(ClassLoader classLoader) {
+
+        if (classLoader == null) {
+            classLoader = Thread.currentThread().getContextClassLoader();
+        }
+        if (classLoader == null) {
+            classLoader = DefaultConfigProvider.class.getClassLoader();
+        }
+        if (classLoader == null) {
+            classLoader = ClassLoader.getSystemClassLoader();
+        }
+
+        return classLoader;
+    }
+
+    private void expungeReleasedClassLoaders() {
+
+        Reference<? extends ClassLoader> released;
+
+        while ((released = releasedClassLoaders.poll()) != null) {
+            CompletableFuture<Config> config = configs.remove(released);
 
-        if (instance == config) {
-            instance = null;
+            if (config != null && config.isDone() && !config.isCompletedExceptionally()) {
+                release(config.join());
+            }
         }
+    }
+
+    /**
+     * Weakly referenced class loader, compared by identity. Configs of unloaded class loaders are removed on the next
+     * registration. A config usually references its class loader through converters and config sources loaded by
+     * it, which keeps the key from being cleared, so configs must be released with {@link #releaseConfig(Config)} when
+     * the application is undeployed.
+     */
+    private static final class ClassLoaderKey extends WeakReference<ClassLoader> {
+
+        private final int hash;
+
+        private ClassLoaderKey(ClassLoader classLoader, ReferenceQueue<ClassLoader> queue) {
+            super(classLoader, queue);
+            this.hash = System.identityHashCode(classLoader);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (this == o) {
+                return true;
+            }
+
+            if (o instanceof LookupKey) {
+                return get() == ((LookupKey) o).classLoader;
+            }
+
+            if (o instanceof ClassLoaderKey) {
+                ClassLoader classLoader = get();
+                return classLoader != null && classLoader == ((ClassLoaderKey) o).get();
+            }
+
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 
+    /**
+     * Config which is being built by the given thread.
+     */
+    private static final class PendingConfig extends CompletableFuture<Config> {
+
+        private final Thread builder = Thread.currentThread();
+    }
+
+    /**
+     * Strongly referenced key used for lookups, avoids creating a weak reference on every call.
+     */
+    private static final class LookupKey {
+
+        private final ClassLoader classLoader;
+
+        private LookupKey(ClassLoader classLoader) {
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (this == o) {
+                return true;
+            }
+
+            if (o instanceof ClassLoaderKey) {
+                return classLoader == ((ClassLoaderKey) o).get();
+            }
+
+            return o instanceof LookupKey && classLoader == ((LookupKey) o).classLoader;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(classLoader);
+        }
     }
 }
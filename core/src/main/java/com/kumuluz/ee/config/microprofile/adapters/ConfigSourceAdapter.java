@@ -21,9 +21,14 @@
 package com.kumuluz.ee.config.microprofile.adapters;
 
 import com.kumuluz.ee.configuration.ConfigurationSource;
+import com.kumuluz.ee.configuration.sources.EnvironmentConfigurationSource;
+import com.kumuluz.ee.configuration.sources.FileConfigurationSource;
+import com.kumuluz.ee.configuration.sources.SystemPropertyConfigurationSource;
 import org.eclipse.microprofile.config.spi.ConfigSource;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Adapts KumuluzEE configuration framework {@link ConfigurationSource} to MicroProfile Config {@link ConfigSource}.
@@ -34,10 +39,28 @@ import java.util.*;
  */
 public class ConfigSourceAdapter implements ConfigSource {
 
+    /**
+     * MicroProfile config sources can declare that their values never change by setting this property to
+     * {@code true}.
+     */
+    public static final String CONFIG_IMMUTABLE = "config_immutable";
+
+    private static final List<Class<? extends ConfigurationSource>> IMMUTABLE_SOURCES = List.of(
+            EnvironmentConfigurationSource.class,
+            FileConfigurationSource.class
+    );
+
     private final ConfigurationSource configurationSource;
+    private final Map<String, String> lists = new ConcurrentHashMap<>();
+    private final AtomicLong changes = new AtomicLong();
+    // guarded by this, true while this adapter is counted as a user of the wrapped MicroProfile source
+    private boolean retained = false;
+    private volatile Map<String, String> properties = null;
+    private volatile Map<String, String> propertiesView = null;
 
     public ConfigSourceAdapter(ConfigurationSource configurationSource) {
         this.configurationSource = configurationSource;
+        retain();
     }
 
     @Override
@@ -47,7 +70,26 @@ public class ConfigSourceAdapter implements ConfigSource {
             return ((ConfigurationSourceAdapter) configurationSource).getConfigSource().getProperties();
         }
 
-        return buildPropertiesMap();
+        if (!isCacheable(this)) {
+            // changes of the source are not reported, the materialized map would go stale
+            return buildPropertiesMap();
+        }
+
+        Map<String, String> view = this.propertiesView;
+
+        if (view == null) {
+            long changesBefore = this.changes.get();
+            Map<String, String> built = new ConcurrentHashMap<>(buildPropertiesMap());
+            view = Collections.unmodifiableMap(built);
+
+            if (this.changes.get() == changesBefore) {
+                // changes reported from now on are applied to the materialized map
+                this.properties = built;
+                this.propertiesView = view;
+            }
+        }
+
+        return view;
     }
 
     @Override
@@ -67,6 +109,12 @@ public class ConfigSourceAdapter implements ConfigSource {
 
     @Override
     public String getValue(String s) {
+
+        String list = this.lists.get(s);
+        if (list != null) {
+            return list;
+        }
+
         String val = configurationSource.get(s).orElse(null);
 
         if (val != null) {
@@ -78,7 +126,8 @@ public class ConfigSourceAdapter implements ConfigSource {
             //this is a list or an array
             if (listSize.isPresent()) {
                 //we ignore the returned value and build the array
-                return buildArray(s, listSize.get());
+                long changesBefore = this.changes.get();
+                return memoizeList(s, buildArray(s, listSize.get()), changesBefore);
             }
         }
 
@@ -95,6 +144,147 @@ public class ConfigSourceAdapter implements ConfigSource {
         return configurationSource.getClass().getName();
     }
 
+    /**
+     * Checks if values of the given config source never change after the source is initialised.
+     */
+    public static boolean isImmutable(ConfigSource configSource) {
+
+        if (configSource instanceof ConfigSourceAdapter) {
+            ConfigurationSource configurationSource = ((ConfigSourceAdapter) configSource).configurationSource;
+
+            if (configurationSource instanceof ConfigurationSourceAdapter) {
+                return isImmutable(((ConfigurationSourceAdapter) configurationSource).getConfigSource());
+            }
+
+            return IMMUTABLE_SOURCES.contains(configurationSource.getClass());
+        }
+
+        return Boolean.parseBoolean(configSource.getValue(CONFIG_IMMUTABLE));
+    }
+
+    /**
+     * Checks if values of the given config source can be cached: the source never changes or it reports its changes
+     * to the KumuluzEE configuration dispatcher. System properties and MicroProfile config sources don't report
+     * changes and are always read directly.
+     */
+    public static boolean isCacheable(ConfigSource configSource) {
+
+        if (isImmutable(configSource)) {
+            return true;
+        }
+
+        if (configSource instanceof ConfigSourceAdapter) {
+            ConfigurationSource configurationSource = ((ConfigSourceAdapter) configSource).configurationSource;
+
+            return !(configurationSource instanceof SystemPropertyConfigurationSource) &&
+                    !(configurationSource instanceof ConfigurationSourceAdapter);
+        }
+
+        return false;
+    }
+
+    /**
+     * Drops values materialized from the source. A wrapped MicroProfile source is no longer polled once all adapters
+     * which read it are released.
+     */
+    public void release() {
+
+        synchronized (this) {
+            if (this.retained) {
+                this.retained = false;
+                ((ConfigurationSourceAdapter) this.configurationSource).release();
+            }
+        }
+
+        // maps which are being built concurrently are discarded
+        this.changes.incrementAndGet();
+        this.properties = null;
+        this.propertiesView = null;
+        this.lists.clear();
+    }
+
+    /**
+     * Requests change notifications for the given key from the underlying KumuluzEE configuration source.
+     */
+    public void watch(String key) {
+        retain();
+        configurationSource.watch(key);
+    }
+
+    /**
+     * Counts this adapter as a user of the wrapped MicroProfile source, which is polled while it has users.
+     */
+    private synchronized void retain() {
+        if (!this.retained && configurationSource instanceof ConfigurationSourceAdapter) {
+            this.retained = true;
+            ((ConfigurationSourceAdapter) configurationSource).retain();
+        }
+    }
+
+    /**
+     * Remembers the joined list value until the configuration source reports a change of the list or its elements.
+     * Lists of sources which don't report changes are not remembered.
+     */
+    private String memoizeList(String key, String value, long changesBefore) {
+
+        if (!isCacheable(this)) {
+            return value;
+        }
+
+        if (!isImmutable(this)) {
+            this.configurationSource.watch(key);
+        }
+
+        this.lists.put(key, value);
+
+        if (this.changes.get() != changesBefore) {
+            // list changed while it was being built
+            this.lists.remove(key, value);
+        }
+
+        return value;
+    }
+
+    /**
+     * Updates the values materialized from the source after the configuration dispatcher reported a change of the
+     * given key. Invoked by the change listener of the config which reads this adapter.
+     */
+    public void onChange(String key) {
+
+        this.changes.incrementAndGet();
+        this.lists.remove(key);
+
+        // element of a list (e.g. hosts[2] or hosts[2].port) changed
+        for (int i = key.indexOf('['); i > 0; i = key.indexOf('[', i + 1)) {
+            this.lists.remove(key.substring(0, i));
+        }
+
+        // parent of lists (e.g. server for server.hosts) changed
+        this.lists.keySet().removeIf(list -> isDescendant(list, key));
+
+        Map<String, String> props = this.properties;
+
+        if (props != null) {
+            // the dispatcher reports changes of all sources, re-read the value from this source
+            Optional<String> value = this.configurationSource.get(key);
+            boolean node = this.configurationSource.getMapKeys(key).isPresent() ||
+                    this.configurationSource.getListSize(key).isPresent();
+
+            if (!node && value.isPresent()) {
+                props.put(key, value.get());
+            } else if (node || props.remove(key) == null) {
+                // a map, a list or an unknown key changed, properties of the whole subtree are rebuilt on next use
+                this.properties = null;
+                this.propertiesView = null;
+            }
+        }
+    }
+
+    private static boolean isDescendant(String key, String parent) {
+        return key.length() > parent.length() && key.startsWith(parent) &&
+                (key.charAt(parent.length()) == '.' || key.charAt(parent.length()) == '[');
+    }
+
     private Map<String, String> buildPropertiesMap() {
         Map<String, String> properties = new HashMap<>();
         buildPropertiesMap(properties, "");
@@ -127,11 +317,11 @@ public class ConfigSourceAdapter implements ConfigSource {
         StringBuilder sb = new StringBuilder();
 
         for (int i = 0; i < size; i++) {
-            String prefix = String.format("%s[%d]", propertyName, i);
+            String prefix = propertyName + '[' + i + ']';
             Optional<List<String>> objectKeys = this.configurationSource.getMapKeys(prefix);
 
             if (objectKeys.isEmpty()) {
-                Optional<String> item = this.configurationSource.get(String.format("%s[%d]", propertyName, i));
+                Optional<String> item = this.configurationSource.get(prefix);
                 if (i > 0) {
                     sb.append(',');
                 }
@@ -0,0 +1,271 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.adapters;
+
+import com.kumuluz.ee.configuration.utils.ConfigurationDispatcher;
+import com.kumuluz.ee.configuration.utils.ConfigurationUtil;
+import org.eclipse.microprofile.config.spi.ConfigSource;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Periodically compares properties of a MicroProfile {@link ConfigSource} with the previous snapshot and reports
+ * changes of watched keys to the KumuluzEE configuration dispatcher. Sources which change often are polled more
+ * frequently, sources which don't change are polled less and less often, up to the maximum interval.
+ *
+ * @since 2.1
+ */
+final class ConfigSourcePoller implements Runnable {
+
+    static final String MIN_INTERVAL_KEY = "kumuluzee.config.mp.polling.min-interval";
+    static final String MAX_INTERVAL_KEY = "kumuluzee.config.mp.polling.max-interval";
+
+    private static final long DEFAULT_MIN_INTERVAL = 1000;
+    private static final long DEFAULT_MAX_INTERVAL = 30000;
+
+    private static final Logger LOG = Logger.getLogger(ConfigSourcePoller.class.getName());
+
+    private final ConfigSource configSource;
+    private final ConfigurationDispatcher dispatcher;
+    private final Set<String> watchedKeys;
+    private final Runnable propertyNamesListener;
+    private final long minInterval;
+    private final long maxInterval;
+
+    // only accessed by the scheduler thread after the poller is started
+    private Map<String, String> values;
+    private long interval;
+    private ScheduledFuture<?> scheduled = null;
+    private boolean stopped = false;
+
+    /**
+     * @param watchedKeys           keys whose changes are reported, the set may grow while the source is polled
+     * @param propertyNamesListener invoked when keys were added to or removed from the source
+     */
+    ConfigSourcePoller(ConfigSource configSource, ConfigurationDispatcher dispatcher, Set<String> watchedKeys,
+                       Runnable propertyNamesListener) {
+        this(configSource, dispatcher, watchedKeys, propertyNamesListener,
+                ConfigurationUtil.getInstance().get(MIN_INTERVAL_KEY).orElse(null),
+                ConfigurationUtil.getInstance().get(MAX_INTERVAL_KEY).orElse(null));
+    }
+
+    /**
+     * @param minInterval configured minimum polling interval, null if not configured
+     * @param maxInterval configured maximum polling interval, null if not configured
+     */
+    ConfigSourcePoller(ConfigSource configSource, ConfigurationDispatcher dispatcher, Set<String> watchedKeys,
+                       Runnable propertyNamesListener, String minInterval, String maxInterval) {
+        this.configSource = configSource;
+        this.dispatcher = dispatcher;
+        this.watchedKeys = watchedKeys;
+        this.propertyNamesListener = propertyNamesListener;
+
+        long min = getInterval(MIN_INTERVAL_KEY, minInterval, DEFAULT_MIN_INTERVAL);
+        long max = getInterval(MAX_INTERVAL_KEY, maxInterval, DEFAULT_MAX_INTERVAL);
+
+        if (min > max) {
+            LOG.warning(String.format("Polling interval %s (%d) is greater than %s (%d), using defaults %d and %d",
+                    MIN_INTERVAL_KEY, min, MAX_INTERVAL_KEY, max, DEFAULT_MIN_INTERVAL, DEFAULT_MAX_INTERVAL));
+            min = DEFAULT_MIN_INTERVAL;
+            max = DEFAULT_MAX_INTERVAL;
+        }
+
+        this.minInterval = min;
+        this.maxInterval = max;
+        this.interval = this.minInterval;
+        this.values = getProperties();
+    }
+
+    void start() {
+        schedule();
+    }
+
+    /**
+     * Cancels the next poll. The poller can't be started again.
+     */
+    synchronized void stop() {
+
+        this.stopped = true;
+
+        if (this.scheduled != null) {
+            this.scheduled.cancel(false);
+            this.scheduled = null;
+        }
+    }
+
+    @Override
+    public void run() {
+
+        boolean changed = false;
+
+        try {
+            changed = poll();
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, "Could not poll configuration source " + configSource.getName(), e);
+        }
+
+        if (changed) {
+            this.interval = Math.max(this.minInterval, this.interval / 2);
+        } else {
+            this.interval = Math.min(this.maxInterval, this.interval * 2);
+        }
+
+        schedule();
+    }
+
+    /**
+     * Returns the delay of the next poll in milliseconds.
+     */
+    long getInterval() {
+        return this.interval;
+    }
+
+    /**
+     * Parses a polling interval in milliseconds. Values which are not positive numbers are replaced with the default.
+     */
+    private static long getInterval(String key, String value, long defaultInterval) {
+
+        if (value == null) {
+            return defaultInterval;
+        }
+
+        try {
+            long interval = Long.parseLong(value.trim());
+
+            if (interval > 0) {
+                return interval;
+            }
+        } catch (NumberFormatException e) {
+            // reported below, together with values which are not positive
+        }
+
+        LOG.warning(String.format("Invalid polling interval %s: '%s', using default %d", key, value,
+                defaultInterval));
+
+        return defaultInterval;
+    }
+
+    private synchronized void schedule() {
+        if (!this.stopped) {
+            this.scheduled = Scheduler.INSTANCE.schedule(this, this.interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Dispatches watched keys which were added, changed or removed since the last poll.
+     *
+     * @return true if any key changed
+     */
+    private boolean poll() {
+
+        Map<String, String> previous = this.values;
+        Map<String, String> current = getProperties();
+        boolean changed = false;
+        boolean namesChanged = false;
+
+        for (Map.Entry<String, String> entry : current.entrySet()) {
+            String value = entry.getValue();
+            String previousValue = previous.get(entry.getKey());
+
+            // unchanged values are usually the same instance, hashes of strings are cached
+            if (previousValue == null) {
+                namesChanged = true;
+            }
+
+            if (previousValue == null || (previousValue != value && (previousValue.hashCode() != value.hashCode() ||
+                    !previousValue.equals(value)))) {
+                notifyChange(entry.getKey(), value);
+                changed = true;
+            }
+        }
+
+        // without added or changed keys, a key was removed only if the source got smaller
+        if (changed || previous.size() > current.size()) {
+            for (String key : previous.keySet()) {
+                if (!current.containsKey(key)) {
+                    notifyChange(key, null);
+                    changed = true;
+                    namesChanged = true;
+                }
+            }
+        }
+
+        if (changed) {
+            this.values = current;
+        }
+
+        if (namesChanged) {
+            this.propertyNamesListener.run();
+        }
+
+        return changed;
+    }
+
+    private void notifyChange(String key, String value) {
+        if (this.watchedKeys.contains(key)) {
+            ConfigurationChanges.notifyChange(this.dispatcher, key, value);
+        }
+    }
+
+    private Map<String, String> getProperties() {
+
+        Map<String, String> properties = this.configSource.getProperties();
+
+        if (properties == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, String> copy = new HashMap<>();
+        properties.forEach((key, value) -> {
+            if (value != null) {
+                copy.put(key, value);
+            }
+        });
+
+        return copy;
+    }
+
+    private static final class Scheduler {
+
+        private static final ScheduledThreadPoolExecutor INSTANCE = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "kumuluzee-config-mp-poller");
+            thread.setDaemon(true);
+            // don't keep the class loader of the application which happened to start the thread
+            thread.setContextClassLoader(ConfigSourcePoller.class.getClassLoader());
+            return thread;
+        });
+
+        static {
+            // cancelled pollers don't keep their config sources, the thread exits when nothing is polled
+            INSTANCE.setRemoveOnCancelPolicy(true);
+            INSTANCE.setKeepAliveTime(1, TimeUnit.MINUTES);
+            INSTANCE.allowCoreThreadTimeOut(true);
+        }
+    }
+}
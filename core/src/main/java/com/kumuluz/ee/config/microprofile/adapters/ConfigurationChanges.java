@@ -0,0 +1,135 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.adapters;
+
+import com.kumuluz.ee.configuration.ConfigurationListener;
+import com.kumuluz.ee.configuration.utils.ConfigurationDispatcher;
+import com.kumuluz.ee.configuration.utils.ConfigurationUtil;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Forwards changes reported to the KumuluzEE configuration dispatcher to the registered listeners. A single listener
+ * is subscribed to the dispatcher when the first key is watched and is never unsubscribed, so that configs can be
+ * created and released without modifying the subscriptions of the dispatcher, which are not thread-safe.
+ *
+ * @since 2.1
+ */
+public final class ConfigurationChanges {
+
+    private static final Object LOCK = new Object();
+    private static final List<ConfigurationListener> LISTENERS = new CopyOnWriteArrayList<>();
+    private static final ConfigurationListener FORWARDER = (key, value) -> {
+        for (ConfigurationListener listener : LISTENERS) {
+            listener.onChange(key, value);
+        }
+    };
+
+    // guarded by LOCK
+    private static ConfigurationDispatcher dispatcher = null;
+    private static boolean subscribed = false;
+    private static boolean dispatching = false;
+    private static String pendingKey = null;
+
+    private ConfigurationChanges() {
+    }
+
+    /**
+     * Registers a listener, which is notified of changes of all keys watched by KumuluzEE configuration sources.
+     */
+    public static void addListener(ConfigurationListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    public static void removeListener(ConfigurationListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    /**
+     * Subscribes the forwarding listener to the configuration dispatcher, unless it is already subscribed. If the
+     * dispatcher was not passed to an adapted MicroProfile source, the listener is subscribed through
+     * {@link ConfigurationUtil}, which also watches the given key in all KumuluzEE configuration sources.
+     *
+     * @param key the first key which needs to be watched
+     * @return true if the key was watched by all KumuluzEE configuration sources while subscribing
+     */
+    public static boolean subscribe(String key) {
+
+        synchronized (LOCK) {
+            if (subscribed) {
+                return false;
+            }
+
+            if (dispatching) {
+                // a listener read a value while a change is dispatched, subscribing would modify the subscriptions
+                // which are being iterated
+                pendingKey = key;
+                return false;
+            }
+
+            subscribed = true;
+
+            if (dispatcher != null) {
+                // MicroProfile sources are not watched, they would be polled for keys which are read directly
+                dispatcher.subscribe(FORWARDER);
+                return false;
+            }
+
+            ConfigurationUtil.getInstance().subscribe(key, FORWARDER);
+        }
+
+        return true;
+    }
+
+    /**
+     * Reports a change to the configuration dispatcher. Changes reported by this module and subscriptions to the
+     * dispatcher are serialized, because the dispatcher doesn't synchronize its subscriptions.
+     */
+    static void notifyChange(ConfigurationDispatcher configurationDispatcher, String key, String value) {
+
+        synchronized (LOCK) {
+            dispatching = true;
+
+            try {
+                configurationDispatcher.notifyChange(key, value);
+            } finally {
+                dispatching = false;
+            }
+
+            if (pendingKey != null) {
+                String firstKey = pendingKey;
+                pendingKey = null;
+                subscribe(firstKey);
+            }
+        }
+    }
+
+    /**
+     * Remembers the configuration dispatcher, which is passed to adapted MicroProfile sources when KumuluzEE
+     * initialises them.
+     */
+    static void init(ConfigurationDispatcher configurationDispatcher) {
+        synchronized (LOCK) {
+            dispatcher = configurationDispatcher;
+        }
+    }
+}
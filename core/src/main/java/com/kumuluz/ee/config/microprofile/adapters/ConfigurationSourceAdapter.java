@@ -20,12 +20,16 @@
 */
 package com.kumuluz.ee.config.microprofile.adapters;
 
+import com.kumuluz.ee.config.microprofile.utils.KeyTrie;
 import com.kumuluz.ee.configuration.ConfigurationSource;
 import com.kumuluz.ee.configuration.utils.ConfigurationDispatcher;
 import org.eclipse.microprofile.config.spi.ConfigSource;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Adapts MicroProfile Config {@link ConfigSource} to KumuluzEE configuration framework {@link ConfigurationSource}.
@@ -37,6 +41,12 @@ import java.util.Optional;
 public class ConfigurationSourceAdapter implements ConfigurationSource {
 
     private final ConfigSource configSource;
+    private final Set<String> watchedKeys = ConcurrentHashMap.newKeySet();
+    // guarded by this
+    private ConfigSourcePoller poller = null;
+    private int users = 0;
+    private volatile ConfigurationDispatcher configurationDispatcher = null;
+    private volatile KeyTrie keyTrie = null;
 
     public ConfigurationSourceAdapter(ConfigSource configSource) {
         this.configSource = configSource;
@@ -48,6 +58,8 @@ public class ConfigurationSourceAdapter implements ConfigurationSource {
 
     @Override
     public void init(ConfigurationDispatcher configurationDispatcher) {
+        this.configurationDispatcher = configurationDispatcher;
+        ConfigurationChanges.init(configurationDispatcher);
     }
 
     @Override
@@ -57,16 +69,70 @@ public class ConfigurationSourceAdapter implements ConfigurationSource {
 
     @Override
     public Optional<Integer> getListSize(String key) {
-        return Optional.empty();
+        return getKeyTrie().getListSize(key);
     }
 
     @Override
     public Optional<List<String>> getMapKeys(String key) {
-        return Optional.empty();
+        return getKeyTrie().getMapKeys(key);
+    }
+
+    /**
+     * Returns the tree of property names, built on first use and rebuilt after the poller detects added or removed
+     * keys.
+     */
+    private KeyTrie getKeyTrie() {
+
+        KeyTrie trie = this.keyTrie;
+
+        if (trie == null) {
+            Set<String> propertyNames = this.configSource.getPropertyNames();
+            trie = KeyTrie.build((propertyNames == null) ? Collections.emptySet() : propertyNames);
+            this.keyTrie = trie;
+        }
+
+        return trie;
     }
 
     @Override
     public void watch(String key) {
+
+        ConfigurationDispatcher dispatcher = this.configurationDispatcher;
+
+        if (dispatcher == null || ConfigSourceAdapter.isImmutable(this.configSource)) {
+            return;
+        }
+
+        this.watchedKeys.add(key);
+
+        // MicroProfile config sources can't notify about changes, changes of watched keys are detected by polling
+        synchronized (this) {
+            if (this.poller == null) {
+                this.poller = new ConfigSourcePoller(this.configSource, dispatcher, this.watchedKeys,
+                        () -> this.keyTrie = null);
+                this.poller.start();
+            }
+        }
+    }
+
+    /**
+     * Registers a config which reads this source. Polling is stopped when all configs which read the source are
+     * released.
+     */
+    synchronized void retain() {
+        this.users++;
+    }
+
+    /**
+     * Unregisters a config which reads this source and stops polling if it was the last one. Polling is started again
+     * when a key is watched.
+     */
+    synchronized void release() {
+
+        if (this.users > 0 && --this.users == 0 && this.poller != null) {
+            this.poller.stop();
+            this.poller = null;
+        }
     }
 
     @Override
@@ -28,14 +28,22 @@ import org.eclipse.microprofile.config.ConfigProvider;
 import org.eclipse.microprofile.config.ConfigValue;
 import org.eclipse.microprofile.config.inject.ConfigProperties;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.config.spi.ConfigProviderResolver;
 
 import javax.enterprise.event.Observes;
 import javax.enterprise.inject.spi.*;
 import javax.enterprise.util.AnnotationLiteral;
+import java.io.IOException;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.*;
-import java.util.function.Supplier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 /**
  * Extension validates if all @{@link ConfigProperty} values are present at startup and initializes ConfigProperty
@@ -49,7 +57,10 @@ public class CDIExtension implements Extension {
 
     private static final Set<Type> IGNORED_TYPES = new HashSet<>();
     private static final Set<Class<?>> SUPPORTED_COLLECTION_TYPES = new HashSet<>();
-    private static final List<DeploymentException> DEPLOYMENT_EXCEPTIONS = new ArrayList<>();
+    private static final Set<Type> PRIMITIVE_SUPPLIER_TYPES = Set.of(IntSupplier.class, LongSupplier.class,
+            DoubleSupplier.class, BooleanSupplier.class);
+    private static final int PARALLEL_VALIDATION_THRESHOLD = 64;
+    private static final Logger LOG = Logger.getLogger(CDIExtension.class.getName());
 
     static {
         // producers for following types are defined in com.kumuluz.ee.config.microprofile.cdi.ConfigInjectionProducer
@@ -58,6 +69,7 @@ public class CDIExtension implements Extension {
         IGNORED_TYPES.add(Supplier.class);
         IGNORED_TYPES.add(List.class);
         IGNORED_TYPES.add(Set.class);
+        IGNORED_TYPES.addAll(PRIMITIVE_SUPPLIER_TYPES);
 
         SUPPORTED_COLLECTION_TYPES.add(List.class);
         SUPPORTED_COLLECTION_TYPES.add(Set.class);
@@ -65,28 +77,87 @@ public class CDIExtension implements Extension {
 
     private final Set<InjectionPoint> injectionPoints = new HashSet<>();
     private final Set<InjectionPoint> injectionPointsProperties = new HashSet<>();
+    private final List<Validation> validations = new ArrayList<>();
+    // config the deployment was validated against, released on shutdown
+    private Config deploymentConfig;
+    private final List<ConfigPropertiesBinder<?>> binders = new ArrayList<>();
+    private List<String> manifestPropertyNames = Collections.emptyList();
+    private long collectionTime = 0;
 
-    public void collectConfigProducer(@Observes ProcessInjectionPoint<?, ?> pip) {
-        ConfigProperty configProperty = pip.getInjectionPoint().getAnnotated().getAnnotation(ConfigProperty.class);
-        if (configProperty == null) {
+    /**
+     * Loads manifests generated by the {@code kumuluzee-config-mp-processor} annotation processor and registers the
+     * generated @{@link ConfigProperties} binders. Without a manifest, classes are bound reflectively.
+     */
+    public void loadManifest(@Observes BeforeBeanDiscovery bbd) {
+
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = CDIExtension.class.getClassLoader();
+        }
+
+        ConfigManifest manifest;
+        try {
+            manifest = ConfigManifest.load(classLoader);
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Could not read config manifest", e);
             return;
         }
-        // add annotation if injection type is Optional<List<?>> or Optional<Set<?>>
-        if (isOptionalCollection(pip.getInjectionPoint().getType())) {
-            pip.configureInjectionPoint().addQualifier(new AnnotationLiteral<OptionalCollectionIP>() {});
+
+        this.manifestPropertyNames = manifest.getPropertyNames();
+
+        for (String binderClassName : manifest.getBinderClassNames()) {
+            try {
+                ConfigPropertiesBinder<?> binder = (ConfigPropertiesBinder<?>) Class.forName(binderClassName, true,
+                        classLoader).getDeclaredConstructor().newInstance();
+                ConfigPropertiesBinding.registerBinder(binder);
+                binders.add(binder);
+            } catch (ReflectiveOperationException | ClassCastException | LinkageError e) {
+                LOG.log(Level.WARNING, "Could not load config binder " + binderClassName +
+                        ", the class will be bound reflectively", e);
+            }
         }
-        injectionPoints.add(pip.getInjectionPoint());
+
+        LOG.fine(() -> String.format("Loaded config manifest with %d properties and %d binders",
+                manifestPropertyNames.size(), binders.size()));
     }
 
-    public void collectConfigProperties(@Observes ProcessInjectionPoint<?, ?> pip) {
+    /**
+     * Collects @{@link ConfigProperty} and @{@link ConfigProperties} injection points. Values are validated later, in
+     * {@link #validate(AfterDeploymentValidation)}, so that the scan of injection points is not slowed down by
+     * config lookups.
+     */
+    public void collectInjectionPoint(@Observes ProcessInjectionPoint<?, ?> pip) {
 
-        ConfigProperties configProperties = pip.getInjectionPoint().getAnnotated().getAnnotation(ConfigProperties.class);
+        long start = System.nanoTime();
 
-        if (configProperties == null) {
-            return;
+        InjectionPoint ip = pip.getInjectionPoint();
+        Annotated annotated = ip.getAnnotated();
+
+        ConfigProperty configProperty = annotated.getAnnotation(ConfigProperty.class);
+        if (configProperty != null) {
+            // add annotation if injection type is Optional<List<?>> or Optional<Set<?>>
+            if (isOptionalCollection(ip.getType())) {
+                pip.configureInjectionPoint().addQualifier(new AnnotationLiteral<OptionalCollectionIP>() {});
+            }
+            injectionPoints.add(ip);
+
+            // ignore ConfigValue, because it's always resolvable, and primitive suppliers, which are resolved lazily
+            if (ip.getType() instanceof Class && !ConfigValue.class.equals(ip.getType()) &&
+                    !PRIMITIVE_SUPPLIER_TYPES.contains(ip.getType())) {
+                validations.add(new Validation(ip, () -> ConfigPropertyProducer.getGenericProperty(ip),
+                        "ConfigProperty " + configProperty.name()));
+            }
+        } else {
+            ConfigProperties configProperties = annotated.getAnnotation(ConfigProperties.class);
+
+            if (configProperties != null) {
+                injectionPointsProperties.add(ip);
+                validations.add(new Validation(ip, () -> ConfigPropertiesProducer.getGenericPropertiesObjectIP(ip),
+                        "ConfigProperties " + configProperties.prefix()));
+            }
         }
 
-        injectionPointsProperties.add(pip.getInjectionPoint());
+        collectionTime += System.nanoTime() - start;
     }
 
     public void vetoConfigPropertiesBeans(@Observes ProcessBeanAttributes<?> pba) {
@@ -100,15 +171,10 @@ public class CDIExtension implements Extension {
         pba.veto();
 
         // validate bean
-        try {
-            ConfigPropertiesProducer.getGenericPropertiesObject((Class<?>) pba.getAnnotated().getBaseType(),
-                    Optional.empty());
-        } catch (Throwable t) {
-            Class<?> failingClass = (Class<?>) pba.getAnnotated().getBaseType();
-            DEPLOYMENT_EXCEPTIONS.add(new DeploymentException("Deploment Failure for ConfigProperties with prefix '" +
-                    configProperties.prefix() + "' in class " + failingClass.getCanonicalName() + " Reason "
-                    + t.getMessage(), t));
-        }
+        Class<?> beanClass = (Class<?>) pba.getAnnotated().getBaseType();
+        validations.add(new Validation(beanClass,
+                () -> ConfigPropertiesProducer.getGenericPropertiesObject(beanClass, Optional.empty()),
+                "ConfigProperties with prefix '" + configProperties.prefix() + "'"));
     }
 
     /**
@@ -130,58 +196,98 @@ public class CDIExtension implements Extension {
         return false;
     }
 
-    public void validateInjectionPoint(@Observes ProcessInjectionPoint<?, ?> pip) {
+    protected void validate(@Observes AfterDeploymentValidation adv) {
 
-        InjectionPoint ip = pip.getInjectionPoint();
-        ConfigProperty configPropertyAnnotation = ip.getAnnotated().getAnnotation(ConfigProperty
-                .class);
+        long start = System.nanoTime();
 
-        if (configPropertyAnnotation != null) {
-            try {
-                if (ip.getType() instanceof Class && !ConfigValue.class.equals(ip.getType())) { // ignore ConfigValue, because it's always resolvable
-                    ConfigPropertyProducer.getGenericProperty(ip);
-                }
-            } catch (Throwable t) {
-                Class<?> failingClass;
-                Bean<?> bean = ip.getBean();
-                if (bean == null) {
-                    failingClass = ip.getMember().getDeclaringClass();
-                } else {
-                    failingClass = ip.getBean().getBeanClass();
-                }
-                DEPLOYMENT_EXCEPTIONS.add(new DeploymentException("Deploment Failure for ConfigProperty " +
-                        configPropertyAnnotation.name() + " in class " + failingClass.getCanonicalName() + " Reason "
-                        + t.getMessage(), t));
-            }
+        deploymentConfig = ConfigProvider.getConfig();
+        prefetchManifestProperties();
+
+        List<DeploymentException> problems;
+        if (validations.size() < PARALLEL_VALIDATION_THRESHOLD) {
+            problems = validations.stream()
+                    .map(Validation::validate)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        } else {
+            problems = validateInParallel();
         }
+
+        problems.forEach(adv::addDeploymentProblem);
+
+        LOG.fine(() -> String.format("Collected %d config injection points in %d ms, validated them in %d ms",
+                validations.size(), collectionTime / 1_000_000, (System.nanoTime() - start) / 1_000_000));
+
+        validations.clear();
     }
 
-    protected void validate(@Observes AfterDeploymentValidation adv) {
+    public void clearResolvedValues(@Observes BeforeShutdown bs) {
+
+        binders.forEach(ConfigPropertiesBinding::unregisterBinder);
+        binders.clear();
+
+        Config config = deploymentConfig;
+        deploymentConfig = null;
 
-        DEPLOYMENT_EXCEPTIONS.forEach(adv::addDeploymentProblem);
+        if (config == null) {
+            return;
+        }
+
+        if (config instanceof ConfigImpl) {
+            ConfigPropertyProducer.clearResolvedValues((ConfigImpl) config);
+        }
+
+        // configs reference the application class loader, they are only removed from the provider when released
+        ConfigProviderResolver.instance().releaseConfig(config);
     }
 
-    public void validateConfigPropertiesInjectionPoint(@Observes ProcessInjectionPoint<?, ?> pip) {
+    /**
+     * Resolves all properties listed in the manifest in a single pass, so that the validations are served from the
+     * config cache.
+     */
+    private void prefetchManifestProperties() {
 
-        InjectionPoint ip = pip.getInjectionPoint();
-        ConfigProperties configPropertiesAnnotation = ip.getAnnotated().getAnnotation(ConfigProperties.class);
+        if (manifestPropertyNames.isEmpty()) {
+            return;
+        }
 
-        if (configPropertiesAnnotation != null) {
+        Config config = ConfigProvider.getConfig();
+        for (String propertyName : manifestPropertyNames) {
             try {
-                ConfigPropertiesProducer.getGenericPropertiesObjectIP(ip);
-            } catch (Throwable t) {
-                Class<?> failingClass;
-                Bean<?> bean = ip.getBean();
-                if (bean == null) {
-                    failingClass = ip.getMember().getDeclaringClass();
-                } else {
-                    failingClass = ip.getBean().getBeanClass();
-                }
-                DEPLOYMENT_EXCEPTIONS.add(new DeploymentException("Deployment Failure for ConfigProperties " +
-                        configPropertiesAnnotation.prefix() + " in class " + failingClass.getCanonicalName() + " Reason "
-                        + t.getMessage(), t));
+                config.getConfigValue(propertyName);
+            } catch (RuntimeException e) {
+                // the failure is reported by the validation of the injection point
+                LOG.log(Level.FINE, e, () -> "Could not prefetch configuration property " + propertyName);
             }
         }
+
+        manifestPropertyNames = Collections.emptyList();
+    }
+
+    private List<DeploymentException> validateInParallel() {
+
+        // workers resolve the config of the deployment, which is looked up by the context class loader
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        }, null, false);
+
+        try {
+            // parallel stream started from a worker runs in the worker's pool
+            return pool.submit(() -> validations.parallelStream()
+                    .map(Validation::validate)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList())).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeploymentException("Validation of config injection points was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new DeploymentException("Could not validate config injection points", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
     }
 
     public void addDynamicProducers(@Observes AfterBeanDiscovery event, BeanManager bm) {
@@ -267,4 +373,57 @@ public class CDIExtension implements Extension {
             }
         }
     }
+
+    /**
+     * Deferred validation of a config injection point or a @{@link ConfigProperties} bean.
+     */
+    private static final class Validation {
+
+        private final InjectionPoint injectionPoint;
+        private final Class<?> beanClass;
+        private final Runnable check;
+        private final String description;
+
+        private Validation(InjectionPoint injectionPoint, Runnable check, String description) {
+            this.injectionPoint = injectionPoint;
+            this.beanClass = null;
+            this.check = check;
+            this.description = description;
+        }
+
+        private Validation(Class<?> beanClass, Runnable check, String description) {
+            this.injectionPoint = null;
+            this.beanClass = beanClass;
+            this.check = check;
+            this.description = description;
+        }
+
+        /**
+         * @return problem or {@code null} if the validation succeeded
+         */
+        private DeploymentException validate() {
+
+            try {
+                check.run();
+                return null;
+            } catch (Throwable t) {
+                return new DeploymentException("Deployment Failure for " + description + " in class " +
+                        getFailingClass().getCanonicalName() + " Reason " + t.getMessage(), t);
+            }
+        }
+
+        private Class<?> getFailingClass() {
+
+            if (beanClass != null) {
+                return beanClass;
+            }
+
+            Bean<?> bean = injectionPoint.getBean();
+            if (bean == null) {
+                return injectionPoint.getMember().getDeclaringClass();
+            }
+
+            return bean.getBeanClass();
+        }
+    }
 }
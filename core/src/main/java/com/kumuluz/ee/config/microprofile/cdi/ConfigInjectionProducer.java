@@ -20,7 +20,9 @@
 */
 package com.kumuluz.ee.config.microprofile.cdi;
 
+import com.kumuluz.ee.config.microprofile.ConfigHandle;
 import com.kumuluz.ee.config.microprofile.ConfigImpl;
+import com.kumuluz.ee.config.microprofile.ConfigKey;
 import com.kumuluz.ee.config.microprofile.ConfigValueImpl;
 import com.kumuluz.ee.config.microprofile.annotations.OptionalCollectionIP;
 import org.eclipse.microprofile.config.Config;
@@ -31,11 +33,14 @@ import org.eclipse.microprofile.config.inject.ConfigProperty;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.Produces;
+import javax.enterprise.inject.spi.AnnotatedParameter;
 import javax.enterprise.inject.spi.InjectionPoint;
+import java.lang.reflect.Member;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.*;
-import java.util.function.Supplier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.*;
 
 /**
  * Config injection producer.
@@ -47,16 +52,15 @@ import java.util.function.Supplier;
 @ApplicationScoped
 public class ConfigInjectionProducer {
 
-    @SuppressWarnings({"unchecked"})
-    private static <T> Class<T> getClassFromParameterizedType(ParameterizedType type) {
-        return (Class<T>) type.getActualTypeArguments()[0];
-    }
-
-    private Config config;
+    private volatile Config config;
+    private ClassLoader classLoader;
+    // keyed by the injected field or method, or by the parameter of an initializer or constructor
+    private final Map<Object, InjectionPointMetadata> metadata = new ConcurrentHashMap<>();
 
     @PostConstruct
     void init() {
         config = ConfigProvider.getConfig();
+        classLoader = Thread.currentThread().getContextClassLoader();
     }
 
     @Produces
@@ -68,13 +72,12 @@ public class ConfigInjectionProducer {
     @Produces
     @ConfigProperty
     public <T> Optional<T> getOptionalProperty(InjectionPoint injectionPoint) {
-        ConfigProperty annotation = injectionPoint.getAnnotated().getAnnotation(ConfigProperty.class);
-        Type type = injectionPoint.getType();
-        if (type instanceof ParameterizedType) {
-            Class<T> typeClass = getClassFromParameterizedType((ParameterizedType) type);
 
-            return ConfigProvider.getConfig().unwrap(ConfigImpl.class).getOptionalValue(annotation.name(), typeClass,
-                    annotation.defaultValue());
+        InjectionPointMetadata ipMetadata = getMetadata(injectionPoint);
+        Class<T> typeClass = ipMetadata.getTypeArgument();
+
+        if (typeClass != null) {
+            return ipMetadata.config.getOptionalValue(ipMetadata.key, typeClass, ipMetadata.defaultValue);
         }
 
         return Optional.empty();
@@ -84,15 +87,15 @@ public class ConfigInjectionProducer {
     @ConfigProperty
     public ConfigValue getConfigValueProperty(InjectionPoint injectionPoint) {
 
-        ConfigProperty annotation = injectionPoint.getAnnotated().getAnnotation(ConfigProperty.class);
+        InjectionPointMetadata ipMetadata = getMetadata(injectionPoint);
 
-        ConfigValue configValue = ConfigProvider.getConfig().getConfigValue(annotation.name());
+        ConfigValue configValue = ipMetadata.config.getConfigValue(ipMetadata.key);
 
         if (configValue.getSourceName() == null &&
-                !ConfigProperty.UNCONFIGURED_VALUE.equals(annotation.defaultValue())) {
+                !ConfigProperty.UNCONFIGURED_VALUE.equals(ipMetadata.defaultValue)) {
 
             // return default value
-            return new ConfigValueImpl(configValue.getName(), annotation.defaultValue(), annotation.defaultValue(),
+            return new ConfigValueImpl(configValue.getName(), ipMetadata.defaultValue, ipMetadata.defaultValue,
                     null, 0);
         }
 
@@ -103,30 +106,105 @@ public class ConfigInjectionProducer {
     @ConfigProperty
     public <T> Supplier<T> getSupplierProperty(InjectionPoint injectionPoint) {
 
-        ConfigProperty annotation = injectionPoint.getAnnotated().getAnnotation(ConfigProperty.class);
-        Type type = injectionPoint.getType();
-        if (type instanceof ParameterizedType) {
-            Class<T> typeClass = getClassFromParameterizedType((ParameterizedType) type);
+        InjectionPointMetadata ipMetadata = getMetadata(injectionPoint);
+        Class<T> typeClass = ipMetadata.getTypeArgument();
 
-            return () -> ConfigProvider.getConfig().unwrap(ConfigImpl.class)
-                    .getOptionalValue(annotation.name(), typeClass, annotation.defaultValue())
-                    .orElse(null);
+        if (typeClass != null) {
+            // handle reuses the converted value until the config changes
+            return () -> refresh(ipMetadata, injectionPoint).getHandle(typeClass).getOrNull();
         }
 
         return () -> null;
     }
 
-    private <T> List<T> getListProperty(String name, Type type, String defaultValue) {
+    @Produces
+    @ConfigProperty
+    public IntSupplier getIntSupplierProperty(InjectionPoint injectionPoint) {
+
+        InjectionPointMetadata ipMetadata = getMetadata(injectionPoint);
+
+        if (ipMetadata.hasDefaultValue()) {
+            int defaultValue = ipMetadata.getConvertedDefaultValue(Integer.class);
+            return () -> {
+                InjectionPointMetadata current = refresh(ipMetadata, injectionPoint);
+                return current.config.getInt(current.key, defaultValue);
+            };
+        }
+
+        return () -> {
+            InjectionPointMetadata current = refresh(ipMetadata, injectionPoint);
+            return current.config.getInt(current.key);
+        };
+    }
+
+    @Produces
+    @ConfigProperty
+    public LongSupplier getLongSupplierProperty(InjectionPoint injectionPoint) {
+
+        InjectionPointMetadata ipMetadata = getMetadata(injectionPoint);
+
+        if (ipMetadata.hasDefaultValue()) {
+            long defaultValue = ipMetadata.getConvertedDefaultValue(Long.class);
+            return () -> {
+                InjectionPointMetadata current = refresh(ipMetadata, injectionPoint);
+                return current.config.getLong(current.key, defaultValue);
+            };
+        }
 
-        if (type instanceof ParameterizedType) {
-            Class<T> typeClass = getClassFromParameterizedType((ParameterizedType) type);
+        return () -> {
+            InjectionPointMetadata current = refresh(ipMetadata, injectionPoint);
+            return current.config.getLong(current.key);
+        };
+    }
 
-            ConfigImpl config = ConfigProvider.getConfig().unwrap(ConfigImpl.class);
+    @Produces
+    @ConfigProperty
+    public DoubleSupplier getDoubleSupplierProperty(InjectionPoint injectionPoint) {
 
-            String value = config.getOptionalValue(name, String.class, defaultValue)
-                    .orElseThrow(() -> new NoSuchElementException("No configured value found for config key " + name));
+        InjectionPointMetadata ipMetadata = getMetadata(injectionPoint);
 
-            return config.convertList(value, typeClass);
+        if (ipMetadata.hasDefaultValue()) {
+            double defaultValue = ipMetadata.getConvertedDefaultValue(Double.class);
+            return () -> {
+                InjectionPointMetadata current = refresh(ipMetadata, injectionPoint);
+                return current.config.getDouble(current.key, defaultValue);
+            };
+        }
+
+        return () -> {
+            InjectionPointMetadata current = refresh(ipMetadata, injectionPoint);
+            return current.config.getDouble(current.key);
+        };
+    }
+
+    @Produces
+    @ConfigProperty
+    public BooleanSupplier getBooleanSupplierProperty(InjectionPoint injectionPoint) {
+
+        InjectionPointMetadata ipMetadata = getMetadata(injectionPoint);
+
+        if (ipMetadata.hasDefaultValue()) {
+            boolean defaultValue = ipMetadata.getConvertedDefaultValue(Boolean.class);
+            return () -> {
+                InjectionPointMetadata current = refresh(ipMetadata, injectionPoint);
+                return current.config.getBoolean(current.key, defaultValue);
+            };
+        }
+
+        return () -> {
+            InjectionPointMetadata current = refresh(ipMetadata, injectionPoint);
+            return current.config.getBoolean(current.key);
+        };
+    }
+
+    private <T> List<T> getListProperty(InjectionPointMetadata ipMetadata, Class<T> typeClass) {
+
+        if (typeClass != null) {
+            String value = ipMetadata.config.getOptionalValue(ipMetadata.key, String.class, ipMetadata.defaultValue)
+                    .orElseThrow(() -> new NoSuchElementException("No configured value found for config key " +
+                            ipMetadata.key.getName()));
+
+            return ipMetadata.config.convertList(value, typeClass);
         }
 
         return null;
@@ -135,8 +213,8 @@ public class ConfigInjectionProducer {
     @Produces
     @ConfigProperty
     public <T> List<T> getListProperty(InjectionPoint injectionPoint) {
-        ConfigProperty annotation = injectionPoint.getAnnotated().getAnnotation(ConfigProperty.class);
-        return getListProperty(annotation.name(), injectionPoint.getType(), annotation.defaultValue());
+        InjectionPointMetadata ipMetadata = getMetadata(injectionPoint);
+        return getListProperty(ipMetadata, ipMetadata.<T>getTypeArgument());
     }
 
     @Produces
@@ -152,14 +230,13 @@ public class ConfigInjectionProducer {
     @OptionalCollectionIP // this qualifier is dynamically added to injection points with the right type
     public <T> Optional<List<T>> getOptionalListProperty(InjectionPoint injectionPoint) {
 
-        ConfigProperty annotation = injectionPoint.getAnnotated().getAnnotation(ConfigProperty.class);
-        if (!(injectionPoint.getType() instanceof ParameterizedType)) {
+        InjectionPointMetadata ipMetadata = getMetadata(injectionPoint);
+        if (!ipMetadata.parameterized) {
             return Optional.empty();
         }
 
-        Type innerType = ((ParameterizedType) injectionPoint.getType()).getActualTypeArguments()[0];
         try {
-            return Optional.ofNullable(getListProperty(annotation.name(), innerType, annotation.defaultValue()));
+            return Optional.ofNullable(getListProperty(ipMetadata, ipMetadata.<T>getInnerTypeArgument()));
         } catch (NoSuchElementException e) {
             return Optional.empty();
         }
@@ -170,14 +247,13 @@ public class ConfigInjectionProducer {
     @OptionalCollectionIP // this qualifier is dynamically added to injection points with the right type
     public <T> Optional<Set<T>> getOptionalSetProperty(InjectionPoint injectionPoint) {
 
-        ConfigProperty annotation = injectionPoint.getAnnotated().getAnnotation(ConfigProperty.class);
-        if (!(injectionPoint.getType() instanceof ParameterizedType)) {
+        InjectionPointMetadata ipMetadata = getMetadata(injectionPoint);
+        if (!ipMetadata.parameterized) {
             return Optional.empty();
         }
 
-        Type innerType = ((ParameterizedType) injectionPoint.getType()).getActualTypeArguments()[0];
         try {
-            List<T> values = getListProperty(annotation.name(), innerType, annotation.defaultValue());
+            List<T> values = getListProperty(ipMetadata, ipMetadata.<T>getInnerTypeArgument());
             if (values == null) {
                 return Optional.empty();
             }
@@ -187,4 +263,158 @@ public class ConfigInjectionProducer {
             return Optional.empty();
         }
     }
+
+    /**
+     * Returns metadata of the injection point, computed on the first injection into the same field or parameter.
+     */
+    private InjectionPointMetadata getMetadata(InjectionPoint injectionPoint) {
+
+        Member member = injectionPoint.getMember();
+
+        if (member == null) {
+            // programmatic lookup without a member, nothing to key the metadata by
+            return new InjectionPointMetadata(getConfigImpl(), injectionPoint);
+        }
+
+        Object cacheKey = (injectionPoint.getAnnotated() instanceof AnnotatedParameter) ?
+                new ParameterKey(member, ((AnnotatedParameter<?>) injectionPoint.getAnnotated()).getPosition()) :
+                member;
+
+        InjectionPointMetadata ipMetadata = this.metadata.get(cacheKey);
+
+        if (ipMetadata == null || ipMetadata.config.isReleased()) {
+            ipMetadata = new InjectionPointMetadata(getConfigImpl(), injectionPoint);
+            this.metadata.put(cacheKey, ipMetadata);
+        }
+
+        return ipMetadata;
+    }
+
+    /**
+     * Returns the metadata for the current config if the config the metadata was created for has been released.
+     * Suppliers outlive the injection, they re-check the metadata on every call.
+     */
+    private InjectionPointMetadata refresh(InjectionPointMetadata ipMetadata, InjectionPoint injectionPoint) {
+        return ipMetadata.config.isReleased() ? getMetadata(injectionPoint) : ipMetadata;
+    }
+
+    private ConfigImpl getConfigImpl() {
+
+        ConfigImpl configImpl = config.unwrap(ConfigImpl.class);
+
+        if (configImpl.isReleased()) {
+            // released configs are rebuilt on the next lookup, e.g. after they were replaced with registerConfig
+            configImpl = ConfigProvider.getConfig(classLoader).unwrap(ConfigImpl.class);
+            config = configImpl;
+        }
+
+        return configImpl;
+    }
+
+    /**
+     * Config key, default value and type arguments of a @{@link ConfigProperty} injection point.
+     */
+    private static final class InjectionPointMetadata {
+
+        private final ConfigImpl config;
+        private final ConfigKey key;
+        private final String defaultValue;
+        private final boolean parameterized;
+        private final Class<?> typeArgument;
+        private final Class<?> innerTypeArgument;
+        private volatile ConfigHandle<?> handle = null;
+        private volatile Object convertedDefaultValue = null;
+
+        private InjectionPointMetadata(ConfigImpl config, InjectionPoint injectionPoint) {
+
+            ConfigProperty annotation = injectionPoint.getAnnotated().getAnnotation(ConfigProperty.class);
+
+            this.config = config;
+            this.key = this.config.getKey(annotation.name());
+            this.defaultValue = annotation.defaultValue();
+
+            Type type = injectionPoint.getType();
+            this.parameterized = type instanceof ParameterizedType;
+
+            Type argument = this.parameterized ? ((ParameterizedType) type).getActualTypeArguments()[0] : null;
+            this.typeArgument = (argument instanceof Class) ? (Class<?>) argument : null;
+
+            // element type of Optional<List<T>> and Optional<Set<T>>
+            Type innerArgument = (argument instanceof ParameterizedType) ?
+                    ((ParameterizedType) argument).getActualTypeArguments()[0] : null;
+            this.innerTypeArgument = (innerArgument instanceof Class) ? (Class<?>) innerArgument : null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> Class<T> getTypeArgument() {
+            return (Class<T>) this.typeArgument;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> Class<T> getInnerTypeArgument() {
+            return (Class<T>) this.innerTypeArgument;
+        }
+
+        private boolean hasDefaultValue() {
+            return !ConfigProperty.UNCONFIGURED_VALUE.equals(this.defaultValue) && !this.defaultValue.isEmpty();
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T getConvertedDefaultValue(Class<T> type) {
+
+            Object value = this.convertedDefaultValue;
+
+            if (value == null) {
+                value = this.config.convert(this.defaultValue, type);
+                this.convertedDefaultValue = value;
+            }
+
+            return (T) value;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> ConfigHandle<T> getHandle(Class<T> type) {
+
+            ConfigHandle<?> configHandle = this.handle;
+
+            if (configHandle == null) {
+                T convertedDefault = hasDefaultValue() ? getConvertedDefaultValue(type) : null;
+                configHandle = this.config.handle(this.key.getName(), type, convertedDefault);
+                this.handle = configHandle;
+            }
+
+            return (ConfigHandle<T>) configHandle;
+        }
+    }
+
+    private static final class ParameterKey {
+
+        private final Member member;
+        private final int position;
+
+        private ParameterKey(Member member, int position) {
+            this.member = member;
+            this.position = position;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ParameterKey)) {
+                return false;
+            }
+
+            ParameterKey that = (ParameterKey) o;
+
+            return position == that.position && member.equals(that.member);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * member.hashCode() + position;
+        }
+    }
 }
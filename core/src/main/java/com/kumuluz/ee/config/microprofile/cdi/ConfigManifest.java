@@ -0,0 +1,121 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.cdi;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Manifest of config usages, generated at compile time by the {@code kumuluzee-config-mp-processor} annotation
+ * processor. Each line describes either a @ConfigProperty injection point:
+ * <pre>property&lt;TAB&gt;name&lt;TAB&gt;type&lt;TAB&gt;declaring class[&lt;TAB&gt;default value]</pre>
+ * or a @ConfigProperties class:
+ * <pre>properties&lt;TAB&gt;class&lt;TAB&gt;prefix&lt;TAB&gt;binder class</pre>
+ * Tabs, line breaks and backslashes in values are escaped with a backslash. The binder class is empty if no binder
+ * could be generated.
+ *
+ * @since 2.1
+ */
+final class ConfigManifest {
+
+    private final List<String> propertyNames = new ArrayList<>();
+    private final List<String> binderClassNames = new ArrayList<>();
+
+    private ConfigManifest() {
+    }
+
+    /**
+     * Reads and merges all manifests visible to the given class loader.
+     */
+    static ConfigManifest load(ClassLoader classLoader) throws IOException {
+
+        ConfigManifest manifest = new ConfigManifest();
+        Enumeration<URL> resources = classLoader.getResources(ConfigPropertiesBinder.MANIFEST_LOCATION);
+
+        while (resources.hasMoreElements()) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(resources.nextElement().openStream(),
+                    StandardCharsets.UTF_8))) {
+
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    manifest.addEntry(line);
+                }
+            }
+        }
+
+        return manifest;
+    }
+
+    private void addEntry(String line) {
+
+        List<String> fields = split(line);
+
+        if (fields.size() >= 4 && "property".equals(fields.get(0))) {
+            propertyNames.add(fields.get(1));
+        } else if (fields.size() >= 4 && "properties".equals(fields.get(0)) && !fields.get(3).isEmpty()) {
+            binderClassNames.add(fields.get(3));
+        }
+    }
+
+    private static List<String> split(String line) {
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (c == '\\' && i + 1 < line.length()) {
+                char escaped = line.charAt(++i);
+                field.append(escaped == 't' ? '\t' : escaped == 'n' ? '\n' : escaped == 'r' ? '\r' : escaped);
+            } else if (c == '\t') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+
+        return fields;
+    }
+
+    /**
+     * Returns names of all properties injected with @ConfigProperty.
+     */
+    List<String> getPropertyNames() {
+        return Collections.unmodifiableList(propertyNames);
+    }
+
+    /**
+     * Returns names of the generated binder classes.
+     */
+    List<String> getBinderClassNames() {
+        return Collections.unmodifiableList(binderClassNames);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.cdi;
+
+import com.kumuluz.ee.config.microprofile.ConfigImpl;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import javax.enterprise.inject.spi.DeploymentException;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+/**
+ * Binder of a {@link org.eclipse.microprofile.config.inject.ConfigProperties} class, generated at compile time by the
+ * {@code kumuluzee-config-mp-processor} annotation processor. Generated binders assign fields directly or through
+ * setters, without reflection, and are listed in the manifest read by {@link CDIExtension}.
+ *
+ * @param <T> bound class
+ * @since 2.1
+ */
+public abstract class ConfigPropertiesBinder<T> {
+
+    /**
+     * Location of the manifests generated by the annotation processor.
+     */
+    public static final String MANIFEST_LOCATION = "META-INF/kumuluzee/config-mp.manifest";
+
+    private final Class<T> type;
+
+    protected ConfigPropertiesBinder(Class<T> type) {
+        this.type = type;
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Creates a new instance of the class and assigns config values to its fields.
+     *
+     * @param prefix prefix of the property names, {@code null} or empty for none
+     */
+    public T bind(ConfigImpl config, String prefix) {
+        return bindFields(config, (prefix == null || prefix.isEmpty()) ? "" : prefix + ".");
+    }
+
+    /**
+     * Implemented by generated binders.
+     *
+     * @param prefix prefix of the property names, empty or ending with a dot
+     */
+    protected abstract T bindFields(ConfigImpl config, String prefix);
+
+    /**
+     * Returns the configured value, the converted default value or {@code null} if neither is present.
+     *
+     * @param defaultValue default value from @{@link ConfigProperty}, {@code null} if not set
+     */
+    protected static Object getValue(ConfigImpl config, String prefix, String name, Class<?> type,
+                                     String defaultValue) {
+
+        Object value = config.getOptionalValue(prefix + name, type).orElse(null);
+
+        if (value == null && defaultValue != null) {
+            value = config.convert(defaultValue, type);
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns the empty value of optional types, used when a property is not configured.
+     *
+     * @throws DeploymentException if the type is not optional
+     */
+    protected static Object getEmptyValue(String prefix, String name, Class<?> type) {
+
+        if (Optional.class.equals(type)) {
+            return Optional.empty();
+        } else if (OptionalInt.class.equals(type)) {
+            return OptionalInt.empty();
+        } else if (OptionalLong.class.equals(type)) {
+            return OptionalLong.empty();
+        } else if (OptionalDouble.class.equals(type)) {
+            return OptionalDouble.empty();
+        }
+
+        throw new DeploymentException("Microprofile Config Property " + prefix + name + " can not be found.");
+    }
+}
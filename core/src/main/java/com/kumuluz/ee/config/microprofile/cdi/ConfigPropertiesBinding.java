@@ -0,0 +1,321 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.cdi;
+
+import com.kumuluz.ee.config.microprofile.ConfigImpl;
+import com.kumuluz.ee.config.microprofile.ConfigKey;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import javax.enterprise.inject.spi.DeploymentException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Binding plan of a {@link org.eclipse.microprofile.config.inject.ConfigProperties} class. Fields, property names,
+ * default values and accessors are resolved once per class, binding an instance only reads the config values and
+ * invokes the prepared method handles.
+ *
+ * @since 2.1
+ */
+final class ConfigPropertiesBinding {
+
+    private static final ClassValue<ConfigPropertiesBinding> BINDINGS = new ClassValue<>() {
+        @Override
+        protected ConfigPropertiesBinding computeValue(Class<?> type) {
+            return new ConfigPropertiesBinding(type);
+        }
+    };
+
+    // binders generated by the annotation processor, registered by CDIExtension
+    private static final Map<Class<?>, ConfigPropertiesBinder<?>> GENERATED_BINDERS = new ConcurrentHashMap<>();
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<?> type;
+    private final MethodHandle constructor;
+    private final String constructorError;
+    private final FieldBinding[] fields;
+    private final Map<String, ConfigKey[]> keys = new ConcurrentHashMap<>();
+
+    private ConfigPropertiesBinding(Class<?> type) {
+
+        this.type = type;
+
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        MethodHandle constructorHandle = null;
+        String error = null;
+        try {
+            constructorHandle = lookup.unreflectConstructor(type.getDeclaredConstructor()).asType(CONSTRUCTOR_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            error = e.toString();
+        }
+        this.constructor = constructorHandle;
+        this.constructorError = error;
+
+        Field[] declaredFields = type.getDeclaredFields();
+        this.fields = new FieldBinding[declaredFields.length];
+
+        for (int i = 0; i < declaredFields.length; i++) {
+            this.fields[i] = new FieldBinding(lookup, type, declaredFields[i]);
+        }
+    }
+
+    static ConfigPropertiesBinding forClass(Class<?> type) {
+        return BINDINGS.get(type);
+    }
+
+    /**
+     * Binds an instance of the given class, using the generated binder if one is registered.
+     */
+    static Object bind(Class<?> type, ConfigImpl config, String prefix) {
+
+        ConfigPropertiesBinder<?> binder = GENERATED_BINDERS.get(type);
+
+        if (binder != null) {
+            return binder.bind(config, prefix);
+        }
+
+        return forClass(type).bind(config, prefix);
+    }
+
+    static void registerBinder(ConfigPropertiesBinder<?> binder) {
+        GENERATED_BINDERS.put(binder.getType(), binder);
+    }
+
+    static void unregisterBinder(ConfigPropertiesBinder<?> binder) {
+        GENERATED_BINDERS.remove(binder.getType(), binder);
+    }
+
+    /**
+     * Creates a new instance of the class and assigns config values to its fields.
+     *
+     * @param prefix prefix of the property names, {@code null} or empty for none
+     */
+    Object bind(ConfigImpl config, String prefix) {
+
+        Object propertiesObject = newInstance();
+        String actualPrefix = (prefix == null || prefix.isEmpty()) ? "" : prefix + ".";
+        ConfigKey[] fieldKeys = getKeys(config, actualPrefix);
+
+        for (int i = 0; i < this.fields.length; i++) {
+            FieldBinding field = this.fields[i];
+
+            Object valueToAssign = config.getOptionalValue(fieldKeys[i], field.type).orElse(null);
+
+            if (valueToAssign == null && field.defaultValue != null) {
+                valueToAssign = config.convert(field.defaultValue, field.type);
+            }
+
+            if (valueToAssign != null) {
+                field.set(propertiesObject, valueToAssign);
+            } else if (field.get(propertiesObject) == null) {
+                // no default value is set directly on field
+
+                if (field.emptyValue == null) {
+                    throw new DeploymentException("Microprofile Config Property " + actualPrefix +
+                            field.propertyName + " can not be found.");
+                }
+
+                field.set(propertiesObject, field.emptyValue);
+            }
+        }
+
+        return propertiesObject;
+    }
+
+    private Object newInstance() {
+
+        if (this.constructor == null) {
+            throw new DeploymentException("Could not instantiate a @ConfigProperties object " + this.type + ": " +
+                    this.constructorError);
+        }
+
+        try {
+            return (Object) this.constructor.invokeExact();
+        } catch (Throwable e) {
+            throw new DeploymentException("Could not instantiate a @ConfigProperties object " + this.type, e);
+        }
+    }
+
+    private ConfigKey[] getKeys(ConfigImpl config, String actualPrefix) {
+
+        ConfigKey[] fieldKeys = this.keys.get(actualPrefix);
+
+        if (fieldKeys == null || (fieldKeys.length > 0 && config.getKey(fieldKeys[0].getName()) != fieldKeys[0])) {
+            // keys are interned per config instance
+            fieldKeys = new ConfigKey[this.fields.length];
+            for (int i = 0; i < this.fields.length; i++) {
+                fieldKeys[i] = config.getKey(actualPrefix + this.fields[i].propertyName);
+            }
+            this.keys.put(actualPrefix, fieldKeys);
+        }
+
+        return fieldKeys;
+    }
+
+    private static final class FieldBinding {
+
+        private final Class<?> type;
+        private final String propertyName;
+        private final String defaultValue;
+        private final Object emptyValue;
+        private final MethodHandle getter;
+        private final MethodHandle fieldGetter;
+        private final MethodHandle setter;
+        private final MethodHandle fieldSetter;
+        private final String accessError;
+
+        private FieldBinding(MethodHandles.Lookup lookup, Class<?> declaringClass, Field field) {
+
+            this.type = field.getType();
+
+            ConfigProperty annotation = field.getAnnotation(ConfigProperty.class);
+            this.propertyName = (annotation == null) ? field.getName() : annotation.name();
+            this.defaultValue = (annotation == null || ConfigProperty.UNCONFIGURED_VALUE.equals(
+                    annotation.defaultValue())) ? null : annotation.defaultValue();
+            this.emptyValue = getEmptyValue(this.type);
+
+            String capitalizedName = field.getName().substring(0, 1).toUpperCase() + field.getName().substring(1);
+            Method getterMethod = findMethod(declaringClass, "get" + capitalizedName);
+            Method setterMethod = findMethod(declaringClass, "set" + capitalizedName, this.type);
+
+            this.getter = (getterMethod != null && getterMethod.getReturnType().equals(this.type)) ?
+                    unreflect(lookup, getterMethod, GETTER_TYPE) : null;
+            this.setter = (setterMethod != null) ? unreflect(lookup, setterMethod, SETTER_TYPE) : null;
+
+            MethodHandle fieldGetterHandle = null;
+            MethodHandle fieldSetterHandle = null;
+            String error = null;
+            try {
+                field.setAccessible(true);
+                fieldGetterHandle = toInstanceAccessor(lookup.unreflectGetter(field), GETTER_TYPE, field);
+                fieldSetterHandle = toInstanceAccessor(lookup.unreflectSetter(field), SETTER_TYPE, field);
+            } catch (IllegalAccessException | RuntimeException e) {
+                error = e.toString();
+            }
+            this.fieldGetter = fieldGetterHandle;
+            this.fieldSetter = fieldSetterHandle;
+            this.accessError = error;
+        }
+
+        private Object get(Object target) {
+
+            try {
+                if (this.getter != null) {
+                    try {
+                        return (Object) this.getter.invokeExact(target);
+                    } catch (Throwable ignored) {
+                        // access via getter failed, try directly via field
+                    }
+                }
+
+                return (Object) requireAccess(this.fieldGetter).invokeExact(target);
+            } catch (DeploymentException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new DeploymentException("Could not read field " + this.propertyName, e);
+            }
+        }
+
+        private void set(Object target, Object value) {
+
+            try {
+                if (this.setter != null) {
+                    try {
+                        this.setter.invokeExact(target, value);
+                        return;
+                    } catch (Throwable ignored) {
+                        // access via setter failed, try directly via field
+                    }
+                }
+
+                requireAccess(this.fieldSetter).invokeExact(target, value);
+            } catch (DeploymentException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new DeploymentException("Could not set field " + this.propertyName, e);
+            }
+        }
+
+        private MethodHandle requireAccess(MethodHandle handle) {
+
+            if (handle == null) {
+                throw new DeploymentException("Could not access field " + this.propertyName + ": " +
+                        this.accessError);
+            }
+
+            return handle;
+        }
+
+        private static Object getEmptyValue(Class<?> type) {
+
+            if (Optional.class.equals(type)) {
+                return Optional.empty();
+            } else if (OptionalInt.class.equals(type)) {
+                return OptionalInt.empty();
+            } else if (OptionalLong.class.equals(type)) {
+                return OptionalLong.empty();
+            } else if (OptionalDouble.class.equals(type)) {
+                return OptionalDouble.empty();
+            }
+
+            return null;
+        }
+
+        private static Method findMethod(Class<?> declaringClass, String name, Class<?>... parameterTypes) {
+
+            for (Method method : declaringClass.getDeclaredMethods()) {
+                if (method.getName().equals(name) && Arrays.equals(method.getParameterTypes(), parameterTypes)) {
+                    return method;
+                }
+            }
+
+            return null;
+        }
+
+        private static MethodHandle unreflect(MethodHandles.Lookup lookup, Method method, MethodType type) {
+            try {
+                return lookup.unreflect(method).asType(type);
+            } catch (IllegalAccessException | RuntimeException e) {
+                return null;
+            }
+        }
+
+        private static MethodHandle toInstanceAccessor(MethodHandle handle, MethodType type, Field field) {
+
+            if (Modifier.isStatic(field.getModifiers())) {
+                // static fields don't take the target instance
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+
+            return handle.asType(type);
+        }
+    }
+}
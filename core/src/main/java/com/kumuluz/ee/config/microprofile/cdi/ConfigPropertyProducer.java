@@ -21,6 +21,7 @@
 package com.kumuluz.ee.config.microprofile.cdi;
 
 import com.kumuluz.ee.config.microprofile.ConfigImpl;
+import com.kumuluz.ee.config.microprofile.utils.ImmutableTypesUtil;
 import org.eclipse.microprofile.config.ConfigProvider;
 import org.eclipse.microprofile.config.ConfigValue;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
@@ -29,10 +30,9 @@ import javax.enterprise.context.Dependent;
 import javax.enterprise.inject.spi.AnnotatedMember;
 import javax.enterprise.inject.spi.DeploymentException;
 import javax.enterprise.inject.spi.InjectionPoint;
-import java.util.Optional;
-import java.util.OptionalDouble;
-import java.util.OptionalInt;
-import java.util.OptionalLong;
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Config property producer produces config values from config instance.
@@ -43,6 +43,10 @@ import java.util.OptionalLong;
  */
 public class ConfigPropertyProducer {
 
+    // resolved values of each config, configs of undeployed applications are removed when they are collected
+    private static final Map<ConfigImpl, Map<ResolvedKey, ResolvedValue>> RESOLVED_VALUES =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
     @SuppressWarnings("UnusedReturnValue") // return value is used by dynamic CDI producer
     @Dependent
     @ConfigProperty
@@ -62,12 +66,51 @@ public class ConfigPropertyProducer {
             }
         }
 
-        // get config value
         ConfigImpl config = ConfigProvider.getConfig().unwrap(ConfigImpl.class);
         Class<?> configurationPropertyType = (Class<?>) ip.getType();
 
+        if (!config.isCacheEnabled() || !ImmutableTypesUtil.isImmutable(configurationPropertyType)) {
+            // instances of mutable types are never shared between injection points
+            return resolveProperty(ip, configPropertyAnnotation, config, configurationPropertyKey,
+                    configurationPropertyType);
+        }
+
+        // values resolved during deployment validation or for other beans are reused until the config changes
+        Map<ResolvedKey, ResolvedValue> resolvedValues = RESOLVED_VALUES.computeIfAbsent(config,
+                c -> new ConcurrentHashMap<>());
+        ResolvedKey resolvedKey = new ResolvedKey(configurationPropertyKey, configurationPropertyType,
+                configPropertyAnnotation.defaultValue());
+        ResolvedValue resolved = resolvedValues.get(resolvedKey);
+        long epoch = config.getCacheEpoch();
+
+        // without tracked changes the raw value is compared, values of system properties may have changed
+        String rawValue = config.isChangeTracked(config.getKey(configurationPropertyKey)) ? null :
+                config.getConfigValue(configurationPropertyKey).getValue();
+
+        if (resolved == null || resolved.epoch != epoch || !Objects.equals(resolved.rawValue, rawValue)) {
+            resolved = new ResolvedValue(epoch, rawValue, resolveProperty(ip, configPropertyAnnotation, config,
+                    configurationPropertyKey, configurationPropertyType));
+            resolvedValues.put(resolvedKey, resolved);
+        }
+
+        // arrays are mutable, never share the resolved instance
+        return resolved.value.getClass().isArray() ? copyArray(resolved.value) : resolved.value;
+    }
+
+    /**
+     * Removes values resolved from the given config. Invoked when the container shuts down.
+     */
+    static void clearResolvedValues(ConfigImpl config) {
+        RESOLVED_VALUES.remove(config);
+    }
+
+    private static Object resolveProperty(InjectionPoint ip, ConfigProperty configPropertyAnnotation,
+                                          ConfigImpl config, String configurationPropertyKey,
+                                          Class<?> configurationPropertyType) {
+
+        // get config value
         Optional<?> resultOpt = Optional.empty();
-        ConfigValue configValue = config.getConfigValue(configurationPropertyKey);
+        ConfigValue configValue = config.getConfigValue(config.getKey(configurationPropertyKey));
         if (configValue.getSourceName() != null) {
             // value found, try to convert
             resultOpt = Optional.ofNullable(config.convert(configValue.getValue(), configurationPropertyType));
@@ -109,4 +152,58 @@ public class ConfigPropertyProducer {
         }
         return configurationPropertyValue;
     }
+
+    private static Object copyArray(Object array) {
+        int length = Array.getLength(array);
+        Object copy = Array.newInstance(array.getClass().getComponentType(), length);
+        System.arraycopy(array, 0, copy, 0, length);
+
+        return copy;
+    }
+
+    private static final class ResolvedKey {
+
+        private final String name;
+        private final Class<?> type;
+        private final String defaultValue;
+
+        private ResolvedKey(String name, Class<?> type, String defaultValue) {
+            this.name = name;
+            this.type = type;
+            this.defaultValue = defaultValue;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ResolvedKey)) {
+                return false;
+            }
+
+            ResolvedKey that = (ResolvedKey) o;
+
+            return name.equals(that.name) && type.equals(that.type) && defaultValue.equals(that.defaultValue);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, type, defaultValue);
+        }
+    }
+
+    private static final class ResolvedValue {
+
+        private final long epoch;
+        private final String rawValue;
+        private final Object value;
+
+        private ResolvedValue(long epoch, String rawValue, Object value) {
+            this.epoch = epoch;
+            this.rawValue = rawValue;
+            this.value = value;
+        }
+    }
 }
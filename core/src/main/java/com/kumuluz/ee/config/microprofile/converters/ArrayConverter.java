@@ -1,5 +1,6 @@
 package com.kumuluz.ee.config.microprofile.converters;
 
+import com.kumuluz.ee.config.microprofile.utils.ListTokenizer;
 import org.eclipse.microprofile.config.spi.Converter;
 
 import java.lang.reflect.Array;
@@ -42,16 +43,10 @@ public class ArrayConverter<T> implements Converter {
             throw new NullPointerException();
         }
 
-        String[] tokens = value.split(ARRAY_SEPARATOR_REGEX);
+        List<T> convertedList = new ArrayList<>();
 
-        List<T> convertedList = new ArrayList<>(tokens.length);
-
-        for (String token : tokens) {
-            token = token.replace("\\,", ",");
-            if (!token.isEmpty()) {
-                convertedList.add(this.elementConverter.convert(token));
-            }
-        }
+        ListTokenizer.forEachToken(value, (s, start, end, escaped) ->
+                convertedList.add(this.elementConverter.convert(ListTokenizer.token(s, start, end, escaped))));
 
         return convertedList;
     }
@@ -0,0 +1,112 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.converters;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Function;
+
+/**
+ * Generates {@link Function} instances which directly invoke converter methods and constructors, so that implicit
+ * converters don't pay the cost of reflective invocation.
+ *
+ * @since 2.1
+ */
+final class ConverterFunctions {
+
+    private ConverterFunctions() {
+    }
+
+    /**
+     * Returns function invoking the given static method or constructor with a single argument, or {@code null} if
+     * access rules don't allow generating it.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Function<String, T> generate(Class<T> tClass, Executable executable) {
+
+        MethodHandles.Lookup lookup = getLookup(tClass, executable);
+
+        if (lookup == null) {
+            return null;
+        }
+
+        CallSite callSite;
+
+        try {
+            MethodHandle handle = (executable instanceof Method) ?
+                    lookup.unreflect((Method) executable) :
+                    lookup.unreflectConstructor((Constructor<?>) executable);
+
+            callSite = LambdaMetafactory.metafactory(lookup,
+                    "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    handle,
+                    MethodType.methodType(handle.type().returnType(), String.class));
+        } catch (ReflectiveOperationException | LambdaConversionException | SecurityException e) {
+            // converter falls back to reflection
+            return null;
+        }
+
+        try {
+            return (Function<String, T>) callSite.getTarget().invoke();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // the factory of a non-capturing lambda doesn't throw checked exceptions
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MethodHandles.Lookup getLookup(Class<?> tClass, Executable executable) {
+
+        try {
+            // lambda is defined next to the converted class, which makes the class and its members accessible
+            return MethodHandles.privateLookupIn(tClass, MethodHandles.lookup());
+        } catch (IllegalAccessException | SecurityException ignored) {
+        }
+
+        // package of the class is not open to us (e.g. JDK classes), only public members of visible classes can be
+        // invoked from a lambda defined in this package
+        if (!Modifier.isPublic(tClass.getModifiers()) || !Modifier.isPublic(executable.getModifiers()) ||
+                !isVisible(tClass)) {
+            return null;
+        }
+
+        return MethodHandles.lookup();
+    }
+
+    private static boolean isVisible(Class<?> tClass) {
+        try {
+            return Class.forName(tClass.getName(), false, ConverterFunctions.class.getClassLoader()) == tClass;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
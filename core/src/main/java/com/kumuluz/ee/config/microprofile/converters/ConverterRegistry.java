@@ -0,0 +1,92 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.converters;
+
+import com.kumuluz.ee.config.microprofile.utils.AlternativeTypesUtil;
+import org.eclipse.microprofile.config.spi.Converter;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Resolves converters for target classes. Registered converters take precedence, implicit and array converters are
+ * generated on first use. Resolved converters, including the absence of a converter, are memoized per class.
+ *
+ * @since 2.1
+ */
+public class ConverterRegistry implements Serializable {
+
+    private final Map<Type, Converter<?>> converters;
+    private transient ClassValue<Optional<Converter<?>>> resolved;
+
+    public ConverterRegistry(Map<Type, Converter<?>> converters) {
+        this.converters = converters;
+        this.resolved = createResolvedConverters();
+    }
+
+    /**
+     * Returns converter for the given class or {@code null} if the class can not be converted.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Converter<T> get(Class<T> aClass) {
+        return (Converter<T>) this.resolved.get(aClass).orElse(null);
+    }
+
+    private ClassValue<Optional<Converter<?>>> createResolvedConverters() {
+        return new ClassValue<>() {
+            @Override
+            protected Optional<Converter<?>> computeValue(Class<?> type) {
+                return Optional.ofNullable(resolve(type));
+            }
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Converter<?> resolve(Class<?> aClass) {
+
+        Class<?> asType = (Class<?>) AlternativeTypesUtil.getTypeFromPrimitive(aClass).orElse(aClass);
+
+        Converter<?> converter = this.converters.get(asType);
+
+        if (converter != null) {
+            return converter;
+        }
+
+        // no registered converter, try to generate implicit converter
+        if (aClass.isArray()) {
+            Class<?> elementClass = aClass.getComponentType();
+            Converter<?> elementConverter = ImplicitConverter.getImplicitConverter(elementClass);
+
+            return (elementConverter == null) ? null : new ArrayConverter(elementConverter, elementClass);
+        }
+
+        return ImplicitConverter.getImplicitConverter(asType);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.resolved = createResolvedConverters();
+    }
+}
@@ -22,6 +22,7 @@ package com.kumuluz.ee.config.microprofile.converters;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.function.Function;
 
 /**
  * Implicit converter based on constructor with one {@link String} parameter.
@@ -33,17 +34,31 @@ import java.lang.reflect.InvocationTargetException;
 public class ImplicitConstructorConverter<T> extends ImplicitConverter<T> {
 
     private final Constructor<?> constructor;
+    private final Function<String, T> function;
 
     public ImplicitConstructorConverter(Class<T> tClass) throws NoSuchMethodException {
         constructor = tClass.getDeclaredConstructor(String.class);
         if (!constructor.canAccess(null)) {
             constructor.setAccessible(true);
         }
+
+        function = ConverterFunctions.generate(tClass, constructor);
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public T convert(String s) {
+
+        if (function != null) {
+            try {
+                return function.apply(s);
+            } catch (Throwable e) {
+                // the function throws what the converter throws, the same cause reflection wraps into
+                // InvocationTargetException
+                throw new IllegalArgumentException(e);
+            }
+        }
+
         try {
             return (T) constructor.newInstance(s);
         } catch (InstantiationException | IllegalAccessException e) {
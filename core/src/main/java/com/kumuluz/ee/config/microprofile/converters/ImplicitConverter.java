@@ -32,18 +32,17 @@ import org.eclipse.microprofile.config.spi.Converter;
 public abstract class ImplicitConverter<T> implements Converter<T> {
 
     public static <V> ImplicitConverter<V> getImplicitConverter(Class<V> vClass) {
-        ImplicitConverter<V> converter = null;
-
+        // static factory methods take precedence over the String constructor
         try {
-            converter = new ImplicitConstructorConverter<>(vClass);
+            return new ImplicitMethodConverter<>(vClass);
         } catch (NoSuchMethodException ignored) {
         }
 
         try {
-            converter = new ImplicitMethodConverter<>(vClass);
+            return new ImplicitConstructorConverter<>(vClass);
         } catch (NoSuchMethodException ignored) {
         }
 
-        return converter;
+        return null;
     }
 }
@@ -23,6 +23,7 @@ package com.kumuluz.ee.config.microprofile.converters;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.function.Function;
 
 /**
  * Implicit converter based on static methods valueOf({@link String} s) and parse({@link CharSequence} cs).
@@ -34,6 +35,7 @@ import java.lang.reflect.Modifier;
 public class ImplicitMethodConverter<T> extends ImplicitConverter<T> {
 
     private Method method;
+    private final Function<String, T> function;
 
     private Method getConverterMethod(Class<T> tClass, String methodName, Class<?> paramType)
             throws NoSuchMethodException {
@@ -74,11 +76,24 @@ public class ImplicitMethodConverter<T> extends ImplicitConverter<T> {
         if (method == null) {
             throw new NoSuchMethodException("Could not find appropriate converter method");
         }
+
+        function = ConverterFunctions.generate(tClass, method);
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public T convert(String value) {
+
+        if (function != null) {
+            try {
+                return function.apply(value);
+            } catch (Throwable e) {
+                // the function throws what the converter throws, the same cause reflection wraps into
+                // InvocationTargetException
+                throw new IllegalArgumentException(e);
+            }
+        }
+
         try {
             return (T) method.invoke(null, value);
         } catch (IllegalAccessException e) {
@@ -0,0 +1,237 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.converters;
+
+import com.kumuluz.ee.config.microprofile.utils.ListTokenizer;
+import org.eclipse.microprofile.config.spi.Converter;
+
+import java.util.Map;
+
+/**
+ * Converter for arrays of primitive types. Elements are parsed directly into the primitive array, without boxing
+ * and without an intermediate list. Only used when the built-in converter of the element type is active.
+ *
+ * @param <A> primitive array type
+ * @since 2.1
+ */
+public abstract class PrimitiveArrayConverter<A> implements Converter<A> {
+
+    private static final Map<Class<?>, Converter<?>> BUILT_IN_CONVERTERS = Map.of(
+            int.class, IntegerConverter.INSTANCE,
+            long.class, LongConverter.INSTANCE,
+            double.class, DoubleConverter.INSTANCE,
+            float.class, FloatConverter.INSTANCE,
+            short.class, ShortConverter.INSTANCE,
+            byte.class, ByteConverter.INSTANCE,
+            char.class, CharacterConverter.INSTANCE,
+            boolean.class, BooleanConverter.INSTANCE
+    );
+
+    /**
+     * Returns converter for arrays of the given primitive type or {@code null} if the element converter is not the
+     * built-in converter of the type.
+     */
+    public static Converter<?> forComponentType(Class<?> componentType, Converter<?> elementConverter) {
+
+        if (BUILT_IN_CONVERTERS.get(componentType) != elementConverter) {
+            return null;
+        }
+
+        if (componentType == int.class) {
+            return new IntArrayConverter();
+        } else if (componentType == long.class) {
+            return new LongArrayConverter();
+        } else if (componentType == double.class) {
+            return new DoubleArrayConverter();
+        } else if (componentType == float.class) {
+            return new FloatArrayConverter();
+        } else if (componentType == short.class) {
+            return new ShortArrayConverter();
+        } else if (componentType == byte.class) {
+            return new ByteArrayConverter();
+        } else if (componentType == char.class) {
+            return new CharArrayConverter();
+        }
+
+        return new BooleanArrayConverter();
+    }
+
+    @Override
+    public A convert(String value) {
+
+        if (value == null) {
+            throw new NullPointerException();
+        }
+
+        int length = ListTokenizer.countTokens(value);
+
+        if (length == 0) {
+            return null;
+        }
+
+        A array = newArray(length);
+        int[] index = new int[1];
+
+        ListTokenizer.forEachToken(value, (s, start, end, escaped) -> {
+            if (escaped) {
+                String token = ListTokenizer.token(s, start, end, true);
+                set(array, index[0]++, token, 0, token.length());
+            } else {
+                set(array, index[0]++, s, start, end);
+            }
+        });
+
+        return array;
+    }
+
+    protected abstract A newArray(int length);
+
+    /**
+     * Parses the element with the given bounds and stores it to the array.
+     */
+    protected abstract void set(A array, int index, String value, int start, int end);
+
+    private static int parseInt(String value, int start, int end) {
+        try {
+            return Integer.parseInt(value, start, end, 10);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static final class IntArrayConverter extends PrimitiveArrayConverter<int[]> {
+
+        @Override
+        protected int[] newArray(int length) {
+            return new int[length];
+        }
+
+        @Override
+        protected void set(int[] array, int index, String value, int start, int end) {
+            array[index] = Integer.parseInt(value, start, end, 10);
+        }
+    }
+
+    private static final class LongArrayConverter extends PrimitiveArrayConverter<long[]> {
+
+        @Override
+        protected long[] newArray(int length) {
+            return new long[length];
+        }
+
+        @Override
+        protected void set(long[] array, int index, String value, int start, int end) {
+            array[index] = Long.parseLong(value, start, end, 10);
+        }
+    }
+
+    private static final class DoubleArrayConverter extends PrimitiveArrayConverter<double[]> {
+
+        @Override
+        protected double[] newArray(int length) {
+            return new double[length];
+        }
+
+        @Override
+        protected void set(double[] array, int index, String value, int start, int end) {
+            array[index] = Double.parseDouble(value.substring(start, end));
+        }
+    }
+
+    private static final class FloatArrayConverter extends PrimitiveArrayConverter<float[]> {
+
+        @Override
+        protected float[] newArray(int length) {
+            return new float[length];
+        }
+
+        @Override
+        protected void set(float[] array, int index, String value, int start, int end) {
+            array[index] = Float.parseFloat(value.substring(start, end));
+        }
+    }
+
+    private static final class ShortArrayConverter extends PrimitiveArrayConverter<short[]> {
+
+        @Override
+        protected short[] newArray(int length) {
+            return new short[length];
+        }
+
+        @Override
+        protected void set(short[] array, int index, String value, int start, int end) {
+            array[index] = (short) parseInt(value, start, end);
+        }
+    }
+
+    private static final class ByteArrayConverter extends PrimitiveArrayConverter<byte[]> {
+
+        @Override
+        protected byte[] newArray(int length) {
+            return new byte[length];
+        }
+
+        @Override
+        protected void set(byte[] array, int index, String value, int start, int end) {
+            array[index] = (byte) parseInt(value, start, end);
+        }
+    }
+
+    private static final class CharArrayConverter extends PrimitiveArrayConverter<char[]> {
+
+        @Override
+        protected char[] newArray(int length) {
+            return new char[length];
+        }
+
+        @Override
+        protected void set(char[] array, int index, String value, int start, int end) {
+
+            if (end - start > 1) {
+                throw new IllegalArgumentException("Unable to convert config value '" +
+                        value.substring(start, end) + "' to Character");
+            }
+
+            array[index] = value.charAt(start);
+        }
+    }
+
+    private static final class BooleanArrayConverter extends PrimitiveArrayConverter<boolean[]> {
+
+        @Override
+        protected boolean[] newArray(int length) {
+            return new boolean[length];
+        }
+
+        @Override
+        protected void set(boolean[] array, int index, String value, int start, int end) {
+            array[index] = matches(value, start, end, "TRUE")
+                    || matches(value, start, end, "1")
+                    || matches(value, start, end, "YES")
+                    || matches(value, start, end, "Y")
+                    || matches(value, start, end, "ON");
+        }
+
+        private static boolean matches(String value, int start, int end, String literal) {
+            return end - start == literal.length() && value.regionMatches(true, start, literal, 0, literal.length());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.utils;
+
+import java.io.Serializable;
+import java.util.function.BiConsumer;
+
+/**
+ * Open-addressing (linear probing) hash index of resolved raw values. The index is populated once and must not be
+ * modified after it has been published to other threads.
+ *
+ * @since 2.1
+ */
+public class ConfigSnapshotIndex implements Serializable {
+
+    private final String[] keys;
+    private final String[] values;
+    private final int[] sourcePositions;
+    private final int mask;
+    private int size;
+
+    public ConfigSnapshotIndex(int expectedSize) {
+
+        // keep load factor at or below 0.5
+        int capacity = Integer.highestOneBit(Math.max(2, expectedSize) * 2 - 1) << 1;
+
+        this.keys = new String[capacity];
+        this.values = new String[capacity];
+        this.sourcePositions = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Adds the key if not already present.
+     *
+     * @param key            property name
+     * @param value          raw value
+     * @param sourcePosition position of the config source that provided the value
+     * @return true if the key was added
+     */
+    public boolean putIfAbsent(String key, String value, int sourcePosition) {
+
+        if (size >= (keys.length >> 1)) {
+            throw new IllegalStateException("Snapshot index is full");
+        }
+
+        int slot = spread(key.hashCode()) & mask;
+
+        while (keys[slot] != null) {
+            if (keys[slot].equals(key)) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        sourcePositions[slot] = sourcePosition;
+        size++;
+
+        return true;
+    }
+
+    /**
+     * Returns slot of the key or -1 if the key is not present.
+     */
+    public int find(String key) {
+
+        int slot = spread(key.hashCode()) & mask;
+
+        String k;
+        while ((k = keys[slot]) != null) {
+            if (k.equals(key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    public String getValue(int slot) {
+        return values[slot];
+    }
+
+    public int getSourcePosition(int slot) {
+        return sourcePositions[slot];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Invokes the action for each key and its raw value.
+     */
+    public void forEach(BiConsumer<String, String> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.utils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.time.Clock;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Util for checking if instances of a type can be shared between callers, because they can't be modified. Converted
+ * values are only cached for such types (arrays are cached if their elements are immutable and copied before they are
+ * returned).
+ *
+ * @since 2.1
+ */
+public class ImmutableTypesUtil {
+
+    private static final Set<Class<?>> IMMUTABLE_TYPES = Set.of(
+            String.class,
+            Boolean.class,
+            Byte.class,
+            Short.class,
+            Integer.class,
+            Long.class,
+            Float.class,
+            Double.class,
+            Character.class,
+            BigInteger.class,
+            BigDecimal.class,
+            Class.class,
+            URI.class,
+            UUID.class,
+            Locale.class,
+            Pattern.class,
+            OptionalInt.class,
+            OptionalLong.class,
+            OptionalDouble.class
+    );
+
+    private static final ClassValue<Boolean> IMMUTABLE = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+
+            if (type.isArray()) {
+                return isImmutable(type.getComponentType());
+            }
+
+            return type.isPrimitive() || IMMUTABLE_TYPES.contains(type) || Enum.class.isAssignableFrom(type) ||
+                    Charset.class.isAssignableFrom(type) ||
+                    // value types of java.time, e.g. Duration or LocalDate
+                    (type.getPackageName().equals("java.time") && !Clock.class.isAssignableFrom(type));
+        }
+    };
+
+    public static boolean isImmutable(Class<?> type) {
+        return IMMUTABLE.get(type);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.utils;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Property expression (e.g. {@code ${db.host}:${db.port:5432}}) parsed into literal segments and reference slots.
+ * <p>
+ * Only plain references with optional default values are compiled. Expressions using escapes or nested references
+ * are not compiled and must be resolved with
+ * {@link com.kumuluz.ee.configuration.utils.ConfigurationInterpolationUtil}.
+ *
+ * @since 2.1
+ */
+public final class InterpolationTemplate implements Serializable {
+
+    /**
+     * Returned by {@link ReferenceResolver} when the reference can't be resolved by the template. Compared by
+     * identity.
+     */
+    @SuppressWarnings("StringOperationCanBeSimplified")
+    public static final String UNRESOLVABLE = new String("<unresolvable>");
+
+    private final String[] literals;
+    private final String[] references;
+    private final String[] defaultValues;
+    private final int literalsLength;
+
+    private InterpolationTemplate(List<String> literals, List<String> references, List<String> defaultValues) {
+        this.literals = literals.toArray(new String[0]);
+        this.references = references.toArray(new String[0]);
+        this.defaultValues = defaultValues.toArray(new String[0]);
+        this.literalsLength = literals.stream().mapToInt(String::length).sum();
+    }
+
+    /**
+     * Parses the raw value.
+     *
+     * @return compiled template or null if the value uses syntax which is not supported by templates
+     */
+    public static InterpolationTemplate compile(String rawValue) {
+
+        if (rawValue.indexOf('\\') >= 0) {
+            // escaped expressions
+            return null;
+        }
+
+        List<String> literals = new ArrayList<>();
+        List<String> references = new ArrayList<>();
+        List<String> defaultValues = new ArrayList<>();
+
+        int position = 0;
+        int start;
+        while ((start = rawValue.indexOf("${", position)) >= 0) {
+
+            int end = rawValue.indexOf('}', start + 2);
+            if (end < 0) {
+                return null;
+            }
+
+            String expression = rawValue.substring(start + 2, end);
+            if (expression.indexOf('$') >= 0 || expression.indexOf('{') >= 0) {
+                // nested expressions
+                return null;
+            }
+
+            int separator = expression.indexOf(':');
+            String reference = (separator < 0) ? expression : expression.substring(0, separator);
+            if (reference.isEmpty()) {
+                return null;
+            }
+
+            literals.add(rawValue.substring(position, start));
+            references.add(reference);
+            defaultValues.add((separator < 0) ? null : expression.substring(separator + 1));
+
+            position = end + 1;
+        }
+
+        literals.add(rawValue.substring(position));
+
+        if (references.isEmpty()) {
+            literals = Collections.singletonList(rawValue);
+        }
+
+        return new InterpolationTemplate(literals, references, defaultValues);
+    }
+
+    public List<String> getReferences() {
+        return List.of(references);
+    }
+
+    /**
+     * Resolves references in the template.
+     *
+     * @return resolved value or null if any of the references could not be resolved
+     */
+    public String resolve(ReferenceResolver resolver) {
+
+        if (references.length == 0) {
+            return literals[0];
+        }
+
+        String[] values = new String[references.length];
+        int length = literalsLength;
+
+        for (int i = 0; i < references.length; i++) {
+            String value = resolver.resolve(references[i]);
+
+            if (value == null) {
+                value = defaultValues[i];
+            }
+            if (value == null || value == UNRESOLVABLE) {
+                return null;
+            }
+
+            values[i] = value;
+            length += value.length();
+        }
+
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < references.length; i++) {
+            sb.append(literals[i]).append(values[i]);
+        }
+        sb.append(literals[references.length]);
+
+        return sb.toString();
+    }
+
+    /**
+     * Resolves values of referenced properties.
+     */
+    @FunctionalInterface
+    public interface ReferenceResolver {
+
+        /**
+         * @return resolved value, null if the property does not exist or {@link #UNRESOLVABLE}
+         */
+        String resolve(String reference);
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.utils;
+
+import java.util.*;
+
+/**
+ * Prefix tree of structured property names (e.g. {@code a.b[2].c}), used to answer map key and list size queries of
+ * flat configuration sources. Each name is parsed once, when the tree is built.
+ *
+ * @since 2.1
+ */
+public class KeyTrie {
+
+    private final Node root = new Node();
+
+    private KeyTrie() {
+    }
+
+    /**
+     * Builds a tree of the given property names. Names which are not valid structured keys are skipped.
+     */
+    public static KeyTrie build(Iterable<String> propertyNames) {
+
+        KeyTrie trie = new KeyTrie();
+
+        for (String propertyName : propertyNames) {
+            List<Object> segments = parse(propertyName);
+
+            if (segments == null || segments.isEmpty()) {
+                continue;
+            }
+
+            Node node = trie.root;
+            for (Object segment : segments) {
+                node = node.getOrCreate(segment);
+            }
+        }
+
+        trie.root.freeze();
+
+        return trie;
+    }
+
+    /**
+     * Returns names of the nested keys of the given key or empty optional if the key has no nested keys. An empty
+     * key denotes the root.
+     */
+    public Optional<List<String>> getMapKeys(String key) {
+
+        Node node = find(key);
+
+        if (node == null || node.mapKeys.isEmpty()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(node.mapKeys);
+    }
+
+    /**
+     * Returns the size of the list with the given key or empty optional if the key has no list elements.
+     */
+    public Optional<Integer> getListSize(String key) {
+
+        Node node = find(key);
+
+        if (node == null || node.listSize == 0 || key.isEmpty()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(node.listSize);
+    }
+
+    private Node find(String key) {
+
+        List<Object> segments = parse(key);
+
+        if (segments == null) {
+            return null;
+        }
+
+        Node node = this.root;
+        for (int i = 0; i < segments.size() && node != null; i++) {
+            node = node.get(segments.get(i));
+        }
+
+        return node;
+    }
+
+    /**
+     * Splits the key into map key segments ({@link String}) and list indices ({@link Integer}).
+     *
+     * @return segments or {@code null} if the key is malformed
+     */
+    private static List<Object> parse(String key) {
+
+        List<Object> segments = new ArrayList<>();
+        int length = key.length();
+        int i = 0;
+
+        while (i < length) {
+            if (key.charAt(i) == '[') {
+                int close = key.indexOf(']', i);
+                if (close < 0) {
+                    return null;
+                }
+
+                int index;
+                try {
+                    index = Integer.parseInt(key, i + 1, close, 10);
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+                if (index < 0) {
+                    return null;
+                }
+
+                segments.add(index);
+
+                i = close + 1;
+            } else {
+                int end = i;
+                while (end < length && key.charAt(end) != '.' && key.charAt(end) != '[') {
+                    end++;
+                }
+                if (end == i) {
+                    return null;
+                }
+
+                segments.add(key.substring(i, end));
+                i = end;
+            }
+
+            if (i < length && key.charAt(i) == '.') {
+                i++;
+                if (i == length) {
+                    return null;
+                }
+            } else if (i < length && key.charAt(i) != '[') {
+                return null;
+            }
+        }
+
+        return segments;
+    }
+
+    private static final class Node {
+
+        private Map<String, Node> children = null;
+        private Map<Integer, Node> elements = null;
+        private List<String> mapKeys = Collections.emptyList();
+        private int listSize = 0;
+
+        private Node get(Object segment) {
+
+            if (segment instanceof Integer) {
+                return (this.elements == null) ? null : this.elements.get(segment);
+            }
+
+            return (this.children == null) ? null : this.children.get(segment);
+        }
+
+        private Node getOrCreate(Object segment) {
+
+            if (segment instanceof Integer) {
+                if (this.elements == null) {
+                    this.elements = new HashMap<>();
+                }
+                this.listSize = Math.max(this.listSize, (Integer) segment + 1);
+
+                return this.elements.computeIfAbsent((Integer) segment, s -> new Node());
+            }
+
+            if (this.children == null) {
+                this.children = new LinkedHashMap<>();
+            }
+
+            return this.children.computeIfAbsent((String) segment, s -> new Node());
+        }
+
+        private void freeze() {
+
+            if (this.children != null) {
+                this.mapKeys = List.copyOf(this.children.keySet());
+                this.children.values().forEach(Node::freeze);
+            }
+
+            if (this.elements != null) {
+                this.elements.values().forEach(Node::freeze);
+            }
+        }
+    }
+}
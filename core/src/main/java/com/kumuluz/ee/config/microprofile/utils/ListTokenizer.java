@@ -0,0 +1,112 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Splits list values on commas. Commas escaped with a backslash ({@code \,}) are part of the element, empty elements
+ * are skipped.
+ *
+ * @since 2.1
+ */
+public class ListTokenizer {
+
+    private ListTokenizer() {
+    }
+
+    /**
+     * Returns unmodifiable list of non-empty elements with escaped commas unescaped.
+     */
+    public static List<String> tokenize(String value) {
+
+        List<String> tokens = new ArrayList<>();
+        forEachToken(value, (s, start, end, escaped) -> tokens.add(token(s, start, end, escaped)));
+
+        return Collections.unmodifiableList(tokens);
+    }
+
+    /**
+     * Invokes the consumer with bounds of each non-empty element, in a single pass over the value.
+     */
+    public static void forEachToken(String value, TokenConsumer consumer) {
+
+        int length = value.length();
+        int start = 0;
+        boolean escaped = false;
+
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) == ',') {
+                if (i > 0 && value.charAt(i - 1) == '\\') {
+                    escaped = true;
+                } else {
+                    if (i > start) {
+                        consumer.accept(value, start, i, escaped);
+                    }
+                    start = i + 1;
+                    escaped = false;
+                }
+            }
+        }
+
+        if (length > start) {
+            consumer.accept(value, start, length, escaped);
+        }
+    }
+
+    /**
+     * Returns the number of non-empty elements.
+     */
+    public static int countTokens(String value) {
+
+        int[] count = new int[1];
+        forEachToken(value, (s, start, end, escaped) -> count[0]++);
+
+        return count[0];
+    }
+
+    /**
+     * Returns element with the given bounds, unescaping commas if needed.
+     */
+    public static String token(String value, int start, int end, boolean escaped) {
+
+        String token = value.substring(start, end);
+
+        return escaped ? token.replace("\\,", ",") : token;
+    }
+
+    /**
+     * Consumer of element bounds.
+     */
+    @FunctionalInterface
+    public interface TokenConsumer {
+
+        /**
+         * @param value   tokenized value
+         * @param start   start index of the element (inclusive)
+         * @param end     end index of the element (exclusive)
+         * @param escaped true if the element contains escaped commas
+         */
+        void accept(String value, int start, int end, boolean escaped);
+    }
+}
@@ -0,0 +1,400 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Annotation processor, which writes a manifest of all @ConfigProperty and @ConfigProperties usages and generates
+ * binders for @ConfigProperties classes. Both are picked up by the CDI extension at startup. Classes which can not be
+ * bound without reflection (private fields without accessors, static or final fields, generic classes, ...) are only
+ * listed in the manifest and are bound reflectively.
+ *
+ * @since 2.1
+ */
+@SupportedAnnotationTypes({ConfigManifestProcessor.CONFIG_PROPERTY, ConfigManifestProcessor.CONFIG_PROPERTIES})
+public class ConfigManifestProcessor extends AbstractProcessor {
+
+    static final String CONFIG_PROPERTY = "org.eclipse.microprofile.config.inject.ConfigProperty";
+    static final String CONFIG_PROPERTIES = "org.eclipse.microprofile.config.inject.ConfigProperties";
+
+    private static final String UNCONFIGURED_VALUE = "org.eclipse.microprofile.config.configproperty.unconfigureddvalue";
+    private static final String UNCONFIGURED_PREFIX =
+            "org.eclipse.microprofile.config.inject.configproperties.unconfiguredprefix";
+    private static final String MANIFEST_LOCATION = "META-INF/kumuluzee/config-mp.manifest";
+    private static final String BINDER_CLASS = "com.kumuluz.ee.config.microprofile.cdi.ConfigPropertiesBinder";
+    private static final String BINDER_SUFFIX = "$$ConfigPropertiesBinder";
+
+    // sorted, so that the manifest is reproducible
+    private final Set<String> manifestEntries = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+        for (TypeElement annotation : annotations) {
+            String annotationName = annotation.getQualifiedName().toString();
+
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (CONFIG_PROPERTY.equals(annotationName)) {
+                    processConfigProperty(element);
+                } else if (CONFIG_PROPERTIES.equals(annotationName) && element.getKind().isClass()) {
+                    processConfigProperties((TypeElement) element);
+                }
+            }
+        }
+
+        if (roundEnv.processingOver()) {
+            writeManifest();
+        }
+
+        // annotations are also processed by the CDI extension at runtime
+        return false;
+    }
+
+    private void processConfigProperty(Element element) {
+
+        if (element.getKind() != ElementKind.FIELD && element.getKind() != ElementKind.PARAMETER) {
+            return;
+        }
+
+        Element declaringType = element.getKind() == ElementKind.PARAMETER ?
+                element.getEnclosingElement().getEnclosingElement() : element.getEnclosingElement();
+
+        if (!(declaringType instanceof TypeElement) ||
+                getAnnotation(declaringType, CONFIG_PROPERTIES) != null) {
+            // fields of @ConfigProperties classes are listed with their class
+            return;
+        }
+
+        Map<String, String> values = getAnnotationValues(getAnnotation(element, CONFIG_PROPERTY));
+        String name = values.get("name");
+
+        if (name.isEmpty()) {
+            if (element.getKind() != ElementKind.FIELD) {
+                return;
+            }
+            name = ((TypeElement) declaringType).getQualifiedName() + "." + element.getSimpleName();
+        }
+
+        addProperty(name, element.asType(), values.get("defaultValue"), (TypeElement) declaringType);
+    }
+
+    private void processConfigProperties(TypeElement type) {
+
+        String prefix = getAnnotationValues(getAnnotation(type, CONFIG_PROPERTIES)).get("prefix");
+        String keyPrefix = (UNCONFIGURED_PREFIX.equals(prefix) || prefix.isEmpty()) ? "" : prefix + ".";
+
+        List<BoundField> fields = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            BoundField boundField = new BoundField(type, field);
+            fields.add(boundField);
+
+            addProperty(keyPrefix + boundField.propertyName, field.asType(), boundField.defaultValue, type);
+        }
+
+        String binderName = isBindable(type, fields) ? generateBinder(type, fields) : "";
+
+        manifestEntries.add(String.join("\t", "properties", getBinaryName(type),
+                UNCONFIGURED_PREFIX.equals(prefix) ? "" : escape(prefix), binderName));
+    }
+
+    private void addProperty(String name, TypeMirror type, String defaultValue, TypeElement declaringType) {
+
+        StringBuilder entry = new StringBuilder("property")
+                .append('\t').append(escape(name))
+                .append('\t').append(escape(processingEnv.getTypeUtils().erasure(type).toString()))
+                .append('\t').append(getBinaryName(declaringType));
+
+        if (defaultValue != null && !UNCONFIGURED_VALUE.equals(defaultValue)) {
+            entry.append('\t').append(escape(defaultValue));
+        }
+
+        manifestEntries.add(entry.toString());
+    }
+
+    private boolean isBindable(TypeElement type, List<BoundField> fields) {
+
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT) ||
+                !type.getTypeParameters().isEmpty()) {
+            return false;
+        }
+
+        // the binder is generated in the same package, so everything except private members is accessible
+        for (Element enclosing = type; enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+            Set<Modifier> modifiers = enclosing.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE) || (enclosing.getEnclosingElement() instanceof TypeElement &&
+                    !modifiers.contains(Modifier.STATIC))) {
+                return false;
+            }
+        }
+
+        boolean hasConstructor = ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+                .anyMatch(c -> c.getParameters().isEmpty() && !c.getModifiers().contains(Modifier.PRIVATE));
+
+        return hasConstructor && fields.stream().allMatch(BoundField::isBindable);
+    }
+
+    private String generateBinder(TypeElement type, List<BoundField> fields) {
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String typeName = type.getQualifiedName().toString();
+        String simpleBinderName = (packageName.isEmpty() ? typeName : typeName.substring(packageName.length() + 1))
+                .replace('.', '_') + BINDER_SUFFIX;
+        String binderName = packageName.isEmpty() ? simpleBinderName : packageName + "." + simpleBinderName;
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(binderName, type);
+
+            try (PrintWriter out = new PrintWriter(file.openWriter())) {
+                if (!packageName.isEmpty()) {
+                    out.println("package " + packageName + ";");
+                    out.println();
+                }
+                out.println("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")");
+                out.println("public final class " + simpleBinderName + " extends " + BINDER_CLASS + "<" +
+                        typeName + "> {");
+                out.println();
+                out.println("    public " + simpleBinderName + "() {");
+                out.println("        super(" + typeName + ".class);");
+                out.println("    }");
+                out.println();
+                out.println("    @Override");
+                out.println("    @SuppressWarnings(\"unchecked\")");
+                out.println("    protected " + typeName + " bindFields(com.kumuluz.ee.config.microprofile.ConfigImpl " +
+                        "config, String prefix) {");
+                out.println();
+                out.println("        " + typeName + " instance = new " + typeName + "();");
+                out.println("        Object value;");
+
+                for (BoundField field : fields) {
+                    field.write(out);
+                }
+
+                out.println();
+                out.println("        return instance;");
+                out.println("    }");
+                out.println("}");
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Could not generate config binder, the class will be bound reflectively: " + e, type);
+            return "";
+        }
+
+        return binderName;
+    }
+
+    private void writeManifest() {
+
+        if (manifestEntries.isEmpty()) {
+            return;
+        }
+
+        try {
+            FileObject manifest = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    MANIFEST_LOCATION);
+
+            try (Writer writer = manifest.openWriter()) {
+                for (String entry : manifestEntries) {
+                    writer.write(entry);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Could not write config manifest: " + e);
+        }
+    }
+
+    private String getBinaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private static AnnotationMirror getAnnotation(Element element, String annotationName) {
+
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName()
+                    .contentEquals(annotationName)) {
+                return annotation;
+            }
+        }
+
+        return null;
+    }
+
+    private Map<String, String> getAnnotationValues(AnnotationMirror annotation) {
+
+        Map<String, String> values = new HashMap<>();
+
+        if (annotation != null) {
+            processingEnv.getElementUtils().getElementValuesWithDefaults(annotation).forEach((method, value) ->
+                    values.put(method.getSimpleName().toString(), String.valueOf(value.getValue())));
+        }
+
+        return values;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static String literal(String value) {
+
+        if (value == null) {
+            return "null";
+        }
+
+        StringBuilder literal = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                literal.append('\\').append(c);
+            } else if (c < 0x20 || c > 0x7e) {
+                literal.append(String.format("\\u%04x", (int) c));
+            } else {
+                literal.append(c);
+            }
+        }
+
+        return literal.append('"').toString();
+    }
+
+    /**
+     * Field of a @ConfigProperties class, assigned through its setter or directly. Mirrors the lookup of accessors
+     * done by the reflective binding.
+     */
+    private class BoundField {
+
+        private final VariableElement field;
+        private final String propertyName;
+        private final String defaultValue;
+        private final String typeName;
+        private final String rawTypeName;
+        private final boolean primitive;
+        private final ExecutableElement getter;
+        private final ExecutableElement setter;
+
+        private BoundField(TypeElement declaringType, VariableElement field) {
+
+            this.field = field;
+
+            Map<String, String> values = getAnnotationValues(getAnnotation(field, CONFIG_PROPERTY));
+            String name = values.get("name");
+            String fieldName = field.getSimpleName().toString();
+            this.propertyName = (name == null) ? fieldName : name;
+            this.defaultValue = UNCONFIGURED_VALUE.equals(values.get("defaultValue")) ?
+                    null : values.get("defaultValue");
+
+            TypeMirror type = field.asType();
+            this.primitive = type.getKind().isPrimitive();
+            this.typeName = primitive ? processingEnv.getTypeUtils().boxedClass((javax.lang.model.type.PrimitiveType)
+                    type).getQualifiedName().toString() : type.toString();
+            this.rawTypeName = processingEnv.getTypeUtils().erasure(type).toString();
+
+            String capitalizedName = fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
+            ExecutableElement getterMethod = null;
+            ExecutableElement setterMethod = null;
+
+            for (ExecutableElement method : ElementFilter.methodsIn(declaringType.getEnclosedElements())) {
+                if (method.getModifiers().contains(Modifier.PRIVATE) ||
+                        method.getModifiers().contains(Modifier.STATIC)) {
+                    continue;
+                }
+
+                String methodName = method.getSimpleName().toString();
+                if (methodName.equals("get" + capitalizedName) && method.getParameters().isEmpty() &&
+                        processingEnv.getTypeUtils().isSameType(processingEnv.getTypeUtils().erasure(
+                                method.getReturnType()), processingEnv.getTypeUtils().erasure(type))) {
+                    getterMethod = method;
+                } else if (methodName.equals("set" + capitalizedName) && method.getParameters().size() == 1 &&
+                        processingEnv.getTypeUtils().isSameType(processingEnv.getTypeUtils().erasure(
+                                method.getParameters().get(0).asType()), processingEnv.getTypeUtils().erasure(type))) {
+                    setterMethod = method;
+                }
+            }
+
+            this.getter = getterMethod;
+            this.setter = setterMethod;
+        }
+
+        private boolean isBindable() {
+
+            Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.FINAL) ||
+                    field.asType().getKind() == TypeKind.TYPEVAR) {
+                return false;
+            }
+
+            boolean fieldAccessible = !modifiers.contains(Modifier.PRIVATE);
+
+            return (setter != null || fieldAccessible) && (primitive || getter != null || fieldAccessible);
+        }
+
+        private void write(PrintWriter out) {
+
+            String fieldName = field.getSimpleName().toString();
+            String name = literal(propertyName);
+
+            out.println();
+            out.println("        value = getValue(config, prefix, " + name + ", " + rawTypeName + ".class, " +
+                    literal(defaultValue) + ");");
+            out.println("        if (value != null) {");
+            out.println("            " + assignment(fieldName, "(" + typeName + ") value"));
+
+            if (!primitive) {
+                // values set directly on the field are kept
+                String current = (getter != null) ? "instance." + getter.getSimpleName() + "()" :
+                        "instance." + fieldName;
+
+                out.println("        } else if (" + current + " == null) {");
+                out.println("            " + assignment(fieldName, "(" + typeName + ") getEmptyValue(prefix, " + name +
+                        ", " + rawTypeName + ".class)"));
+            }
+
+            out.println("        }");
+        }
+
+        private String assignment(String fieldName, String value) {
+            return (setter != null) ? "instance." + setter.getSimpleName() + "(" + value + ");" :
+                    "instance." + fieldName + " = " + value + ";";
+        }
+    }
+}
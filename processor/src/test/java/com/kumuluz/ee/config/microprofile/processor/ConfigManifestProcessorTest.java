@@ -0,0 +1,149 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.processor;
+
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.google.testing.compile.Compiler.javac;
+
+/**
+ * Tests the manifest and the binders generated by {@link ConfigManifestProcessor}.
+ *
+ * @since 2.1
+ */
+@Test
+public class ConfigManifestProcessorTest {
+
+    private static final String MANIFEST_LOCATION = "META-INF/kumuluzee/config-mp.manifest";
+
+    private static final JavaFileObject SERVER_PROPERTIES = JavaFileObjects.forSourceLines("test.ServerProperties",
+            "package test;",
+            "",
+            "import org.eclipse.microprofile.config.inject.ConfigProperties;",
+            "import org.eclipse.microprofile.config.inject.ConfigProperty;",
+            "",
+            "@ConfigProperties(prefix = \"server\")",
+            "public class ServerProperties {",
+            "",
+            "    String host;",
+            "",
+            "    @ConfigProperty(name = \"port\", defaultValue = \"8080\")",
+            "    int port;",
+            "",
+            "    private String protocol;",
+            "",
+            "    public String getProtocol() {",
+            "        return protocol;",
+            "    }",
+            "",
+            "    public void setProtocol(String protocol) {",
+            "        this.protocol = protocol;",
+            "    }",
+            "}");
+
+    private static final JavaFileObject HIDDEN_PROPERTIES = JavaFileObjects.forSourceLines("test.HiddenProperties",
+            "package test;",
+            "",
+            "import org.eclipse.microprofile.config.inject.ConfigProperties;",
+            "",
+            "@ConfigProperties",
+            "public class HiddenProperties {",
+            "",
+            "    private String secret;",
+            "}");
+
+    private static final JavaFileObject BEAN = JavaFileObjects.forSourceLines("test.Bean",
+            "package test;",
+            "",
+            "import org.eclipse.microprofile.config.inject.ConfigProperty;",
+            "",
+            "public class Bean {",
+            "",
+            "    @ConfigProperty(name = \"bean.timeout\", defaultValue = \"30\")",
+            "    Integer timeout;",
+            "}");
+
+    @Test
+    public void manifestTest() throws IOException {
+
+        Compilation compilation = compile();
+
+        Assert.assertEquals(readManifest(compilation), Arrays.asList(
+                "properties\ttest.HiddenProperties\t\t",
+                "properties\ttest.ServerProperties\tserver\ttest.ServerProperties$$ConfigPropertiesBinder",
+                "property\tbean.timeout\tjava.lang.Integer\ttest.Bean\t30",
+                "property\tsecret\tjava.lang.String\ttest.HiddenProperties",
+                "property\tserver.host\tjava.lang.String\ttest.ServerProperties",
+                "property\tserver.port\tint\ttest.ServerProperties\t8080",
+                "property\tserver.protocol\tjava.lang.String\ttest.ServerProperties"));
+    }
+
+    @Test
+    public void binderTest() throws IOException {
+
+        Compilation compilation = compile();
+
+        JavaFileObject binder = compilation.generatedSourceFile("test.ServerProperties$$ConfigPropertiesBinder")
+                .orElseThrow(() -> new AssertionError("Binder was not generated"));
+        String source = binder.getCharContent(true).toString();
+
+        Assert.assertTrue(source.contains("public final class ServerProperties$$ConfigPropertiesBinder extends " +
+                "com.kumuluz.ee.config.microprofile.cdi.ConfigPropertiesBinder<test.ServerProperties>"), source);
+        // accessible fields are assigned directly, private fields through their accessors
+        Assert.assertTrue(source.contains("instance.host = (java.lang.String) value;"), source);
+        Assert.assertTrue(source.contains("getValue(config, prefix, \"port\", int.class, \"8080\")"), source);
+        Assert.assertTrue(source.contains("instance.setProtocol((java.lang.String) value);"), source);
+        Assert.assertTrue(source.contains("} else if (instance.getProtocol() == null) {"), source);
+
+        // private fields without accessors are bound reflectively
+        Assert.assertFalse(compilation.generatedSourceFile("test.HiddenProperties$$ConfigPropertiesBinder")
+                .isPresent());
+    }
+
+    private static Compilation compile() {
+
+        Compilation compilation = javac()
+                .withProcessors(new ConfigManifestProcessor())
+                .compile(SERVER_PROPERTIES, HIDDEN_PROPERTIES, BEAN);
+
+        Assert.assertEquals(compilation.status(), Compilation.Status.SUCCESS,
+                String.valueOf(compilation.diagnostics()));
+
+        return compilation;
+    }
+
+    private static List<String> readManifest(Compilation compilation) throws IOException {
+
+        JavaFileObject manifest = compilation.generatedFile(StandardLocation.CLASS_OUTPUT, MANIFEST_LOCATION)
+                .orElseThrow(() -> new AssertionError("Manifest was not generated"));
+
+        return Arrays.asList(manifest.getCharContent(true).toString().split("\n"));
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.adapters;
+
+import com.kumuluz.ee.configuration.utils.ConfigurationDispatcher;
+import org.eclipse.microprofile.config.spi.ConfigSource;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests change detection and the adaptive polling interval of {@link ConfigSourcePoller}. Pollers are stopped before
+ * they are run, so that each poll is triggered by the test.
+ *
+ * @since 2.1
+ */
+@Test
+public class ConfigSourcePollerTest {
+
+    @Test
+    public void changeDetectionTest() {
+
+        Map<String, String> properties = new HashMap<>(Map.of("a", "1", "b", "2", "c", "3"));
+        RecordingDispatcher dispatcher = new RecordingDispatcher();
+        AtomicInteger namesChanged = new AtomicInteger();
+
+        ConfigSourcePoller poller = new ConfigSourcePoller(new MapConfigSource(properties), dispatcher,
+                Set.of("a", "c", "d"), namesChanged::incrementAndGet, "10", "80");
+        poller.stop();
+
+        // b is not watched
+        properties.put("a", "10");
+        properties.put("b", "20");
+        poller.run();
+        Assert.assertEquals(dispatcher.changes, List.of("a=10"));
+        Assert.assertEquals(namesChanged.get(), 0);
+
+        dispatcher.changes.clear();
+        properties.put("d", "4");
+        properties.remove("c");
+        poller.run();
+        Assert.assertEquals(new HashSet<>(dispatcher.changes), Set.of("d=4", "c=null"));
+        Assert.assertEquals(namesChanged.get(), 1);
+
+        dispatcher.changes.clear();
+        poller.run();
+        Assert.assertEquals(dispatcher.changes, Collections.emptyList());
+        Assert.assertEquals(namesChanged.get(), 1);
+    }
+
+    @Test
+    public void adaptiveIntervalTest() {
+
+        Map<String, String> properties = new HashMap<>(Map.of("a", "1"));
+        ConfigSourcePoller poller = new ConfigSourcePoller(new MapConfigSource(properties),
+                new RecordingDispatcher(), Set.of("a"), () -> {
+        }, "10", "80");
+        poller.stop();
+
+        Assert.assertEquals(poller.getInterval(), 10);
+
+        // sources which don't change are polled less often, up to the maximum interval
+        long[] unchanged = {20, 40, 80, 80};
+        for (long expected : unchanged) {
+            poller.run();
+            Assert.assertEquals(poller.getInterval(), expected);
+        }
+
+        // sources which change are polled more often, down to the minimum interval
+        long[] changed = {40, 20, 10, 10};
+        for (int i = 0; i < changed.length; i++) {
+            properties.put("a", "changed" + i);
+            poller.run();
+            Assert.assertEquals(poller.getInterval(), changed[i]);
+        }
+    }
+
+    @Test
+    public void intervalValidationTest() {
+
+        Assert.assertEquals(getIntervals(null, null), List.of(1000L, 30000L));
+        Assert.assertEquals(getIntervals("5", " 20 "), List.of(5L, 20L));
+        Assert.assertEquals(getIntervals("invalid", "2000"), List.of(1000L, 2000L));
+        Assert.assertEquals(getIntervals("0", "-20"), List.of(1000L, 30000L));
+        // minimum greater than maximum, both are replaced with defaults
+        Assert.assertEquals(getIntervals("500", "100"), List.of(1000L, 30000L));
+    }
+
+    /**
+     * Returns the initial interval and the interval after the source didn't change for a while.
+     */
+    private static List<Long> getIntervals(String minInterval, String maxInterval) {
+
+        ConfigSourcePoller poller = new ConfigSourcePoller(new MapConfigSource(new HashMap<>()),
+                new RecordingDispatcher(), Collections.emptySet(), () -> {
+        }, minInterval, maxInterval);
+        poller.stop();
+
+        long initial = poller.getInterval();
+        for (int i = 0; i < 32; i++) {
+            poller.run();
+        }
+
+        return List.of(initial, poller.getInterval());
+    }
+
+    private static class RecordingDispatcher extends ConfigurationDispatcher {
+
+        private final List<String> changes = new ArrayList<>();
+
+        @Override
+        public void notifyChange(String key, String value) {
+            changes.add(key + "=" + value);
+        }
+    }
+
+    private static class MapConfigSource implements ConfigSource {
+
+        private final Map<String, String> properties;
+
+        MapConfigSource(Map<String, String> properties) {
+            this.properties = properties;
+        }
+
+        @Override
+        public Map<String, String> getProperties() {
+            return properties;
+        }
+
+        @Override
+        public Set<String> getPropertyNames() {
+            return properties.keySet();
+        }
+
+        @Override
+        public String getValue(String s) {
+            return properties.get(s);
+        }
+
+        @Override
+        public String getName() {
+            return "Map config source";
+        }
+    }
+}
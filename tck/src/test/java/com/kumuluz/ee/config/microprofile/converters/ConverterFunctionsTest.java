@@ -0,0 +1,108 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.converters;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+/**
+ * Tests generation of converter functions by {@link ConverterFunctions}, the reflective fallback and wrapping of
+ * exceptions thrown by implicit converters.
+ *
+ * @since 2.1
+ */
+@Test
+public class ConverterFunctionsTest {
+
+    @Test
+    public void generatedFunctionTest() throws NoSuchMethodException {
+
+        // public members of JDK classes are invoked from a lambda defined in this package
+        Function<String, Duration> parse = ConverterFunctions.generate(Duration.class,
+                Duration.class.getMethod("parse", CharSequence.class));
+        Assert.assertNotNull(parse);
+        Assert.assertEquals(parse.apply("PT3S"), Duration.ofSeconds(3));
+
+        // members of application classes are accessible through a lookup in the converted class
+        Function<String, Named> constructor = ConverterFunctions.generate(Named.class,
+                Named.class.getDeclaredConstructor(String.class));
+        Assert.assertNotNull(constructor);
+        Assert.assertEquals(constructor.apply("name").name, "name");
+    }
+
+    @Test
+    public void reflectionFallbackTest() throws NoSuchMethodException {
+
+        // non-public members of classes in packages which are not open can't be invoked from a generated function
+        Assert.assertNull(ConverterFunctions.generate(ExecutionException.class,
+                ExecutionException.class.getDeclaredConstructor(String.class)));
+    }
+
+    @Test
+    public void exceptionWrappingTest() {
+
+        // exceptions thrown by converters are the cause of the IllegalArgumentException, like with reflection
+        IllegalArgumentException e = Assert.expectThrows(IllegalArgumentException.class,
+                () -> new ImplicitMethodConverter<>(Failing.class).convert("unchecked"));
+        Assert.assertSame(e.getCause(), Failing.UNCHECKED);
+
+        e = Assert.expectThrows(IllegalArgumentException.class,
+                () -> new ImplicitMethodConverter<>(Failing.class).convert("error"));
+        Assert.assertSame(e.getCause(), Failing.ERROR);
+
+        e = Assert.expectThrows(IllegalArgumentException.class,
+                () -> new ImplicitConstructorConverter<>(Named.class).convert(""));
+        Assert.assertTrue(e.getCause() instanceof IOException);
+    }
+
+    private static class Named {
+
+        private final String name;
+
+        private Named(String name) throws IOException {
+
+            if (name.isEmpty()) {
+                throw new IOException("Empty name");
+            }
+
+            this.name = name;
+        }
+    }
+
+    private static class Failing {
+
+        private static final RuntimeException UNCHECKED = new IllegalStateException("unchecked");
+        private static final Error ERROR = new AssertionError("error");
+
+        public static Failing valueOf(String value) {
+            if ("error".equals(value)) {
+                throw ERROR;
+            }
+
+            throw UNCHECKED;
+        }
+    }
+}
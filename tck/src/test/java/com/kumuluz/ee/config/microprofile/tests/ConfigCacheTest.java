@@ -0,0 +1,196 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.tests;
+
+import com.kumuluz.ee.config.microprofile.ConfigHandle;
+import com.kumuluz.ee.config.microprofile.ConfigImpl;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.testng.Arquillian;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Tests caching of resolved configuration values in {@link ConfigImpl}.
+ *
+ * @since 2.1
+ */
+@Test
+public class ConfigCacheTest extends Arquillian {
+
+    private static final String KEY = "kumuluz.cache.test";
+    private static final String FILE_KEY = "parameter.stringParameter";
+    private static final String FILE_VALUE = "[here be,  dragons]";
+
+    @Deployment
+    public static JavaArchive deploy() {
+        return ShrinkWrap
+                .create(JavaArchive.class, "configCacheTest.jar")
+                .addClasses(ConfigCacheTest.class)
+                .addAsResource("config.yaml")
+                .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml")
+                .as(JavaArchive.class);
+    }
+
+    @Test
+    public void cachedValueTest() {
+
+        ConfigImpl config = ConfigProvider.getConfig().unwrap(ConfigImpl.class);
+        Assert.assertTrue(config.isCacheEnabled());
+
+        // values of the configuration file are cached
+        Assert.assertEquals(config.getValue(FILE_KEY, String.class), FILE_VALUE);
+
+        long hits = config.getCacheHits();
+        Assert.assertEquals(config.getValue(FILE_KEY, String.class), FILE_VALUE);
+        Assert.assertEquals(config.getCacheHits(), hits + 1);
+
+        // system properties override the cached value as soon as they are set
+        System.setProperty(FILE_KEY, "overridden");
+        Assert.assertEquals(config.getValue(FILE_KEY, String.class), "overridden");
+
+        System.clearProperty(FILE_KEY);
+        Assert.assertEquals(config.getValue(FILE_KEY, String.class), FILE_VALUE);
+    }
+
+    @Test
+    public void liveValueTest() {
+
+        ConfigImpl config = ConfigProvider.getConfig().unwrap(ConfigImpl.class);
+
+        // system properties don't report changes, they are never served from the cache
+        System.setProperty(KEY, "first");
+        Assert.assertEquals(config.getValue(KEY, String.class), "first");
+
+        System.setProperty(KEY, "second");
+        Assert.assertEquals(config.getValue(KEY, String.class), "second");
+
+        System.clearProperty(KEY);
+        Assert.assertFalse(config.getOptionalValue(KEY, String.class).isPresent());
+    }
+
+    @Test
+    public void handleTest() {
+
+        ConfigImpl config = ConfigProvider.getConfig().unwrap(ConfigImpl.class);
+        ConfigHandle<Integer> handle = config.handle(KEY, Integer.class, 7);
+
+        System.clearProperty(KEY);
+        Assert.assertEquals(handle.get(), Integer.valueOf(7));
+
+        System.setProperty(KEY, "42");
+        Assert.assertEquals(handle.get(), Integer.valueOf(42));
+
+        System.clearProperty(KEY);
+        Assert.assertEquals(handle.get(), Integer.valueOf(7));
+    }
+
+    @Test
+    public void handleFastPathTest() {
+
+        ConfigImpl config = ConfigProvider.getConfig().unwrap(ConfigImpl.class);
+        ConfigHandle<String> handle = config.handle(FILE_KEY, String.class);
+
+        // system properties don't report changes, but they don't define the key
+        Assert.assertEquals(handle.get(), FILE_VALUE);
+        Assert.assertTrue(config.isChangeTracked(handle.getKey()));
+
+        // the value is returned without a lookup in the config
+        long lookups = config.getCacheHits() + config.getCacheMisses();
+        Assert.assertEquals(handle.get(), FILE_VALUE);
+        Assert.assertEquals(config.getCacheHits() + config.getCacheMisses(), lookups);
+
+        // keys defined in system properties are read on every call
+        System.setProperty(FILE_KEY, "overridden");
+        Assert.assertFalse(config.isChangeTracked(handle.getKey()));
+        Assert.assertEquals(handle.get(), "overridden");
+
+        System.clearProperty(FILE_KEY);
+        Assert.assertEquals(handle.get(), FILE_VALUE);
+        Assert.assertTrue(config.isChangeTracked(handle.getKey()));
+    }
+
+    @Test
+    public void convertedValueTest() {
+
+        ConfigImpl config = ConfigProvider.getConfig().unwrap(ConfigImpl.class);
+
+        // converted instances of immutable types are shared
+        System.setProperty(KEY, "PT15M");
+        Assert.assertSame(config.getValue(KEY, Duration.class), config.getValue(KEY, Duration.class));
+        System.clearProperty(KEY);
+
+        // instances of mutable types are converted on every lookup
+        StringBuilder first = config.getValue(FILE_KEY, StringBuilder.class);
+        StringBuilder second = config.getValue(FILE_KEY, StringBuilder.class);
+        Assert.assertNotSame(first, second);
+
+        first.append(" modified");
+        Assert.assertEquals(second.toString(), FILE_VALUE);
+        Assert.assertEquals(config.getValue(FILE_KEY, StringBuilder.class).toString(), FILE_VALUE);
+    }
+
+    @Test
+    public void propertyNamesTest() {
+
+        ConfigImpl config = ConfigProvider.getConfig().unwrap(ConfigImpl.class);
+        System.clearProperty(KEY);
+
+        // names of the configuration file are cached after the first full iteration, in no particular order
+        List<String> names = collectNames(config);
+        Assert.assertTrue(names.contains(FILE_KEY));
+        Assert.assertFalse(names.contains(KEY));
+        Assert.assertEquals(new HashSet<>(collectNames(config)), new HashSet<>(names));
+
+        // names of system properties are read on every iteration
+        System.setProperty(KEY, "value");
+        System.setProperty(FILE_KEY, "overridden");
+        names = collectNames(config);
+        Assert.assertTrue(names.contains(KEY));
+        Assert.assertEquals(new HashSet<>(names).size(), names.size());
+
+        System.clearProperty(KEY);
+        System.clearProperty(FILE_KEY);
+        Assert.assertFalse(collectNames(config).contains(KEY));
+
+        // invalidation drops the cached names, they are collected again
+        config.invalidate();
+        names = collectNames(config);
+        Assert.assertTrue(names.contains(FILE_KEY));
+        Assert.assertEquals(new HashSet<>(collectNames(config)), new HashSet<>(names));
+    }
+
+    private static List<String> collectNames(ConfigImpl config) {
+
+        List<String> names = new ArrayList<>();
+        config.getPropertyNames().forEach(names::add);
+
+        return names;
+    }
+}
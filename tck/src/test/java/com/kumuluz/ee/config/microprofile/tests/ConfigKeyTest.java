@@ -0,0 +1,128 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.tests;
+
+import com.kumuluz.ee.config.microprofile.ConfigImpl;
+import com.kumuluz.ee.config.microprofile.ConfigKey;
+import org.eclipse.microprofile.config.spi.ConfigSource;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tests interning of {@link ConfigKey} instances and lookups of their profile-specific variants.
+ *
+ * @since 2.1
+ */
+@Test
+public class ConfigKeyTest {
+
+    private static final Map<String, String> PROPERTIES = Map.of(
+            "%dev.override", "dev",
+            "%test.override", "test",
+            "override", "plain",
+            "%dev.single", "dev",
+            "single", "plain",
+            "plain", "plain");
+
+    @Test
+    public void internedKeyTest() {
+
+        ConfigImpl config = createConfig(null);
+        ConfigKey key = config.getKey("plain");
+
+        Assert.assertSame(config.getKey("plain"), key);
+        Assert.assertEquals(key.getName(), "plain");
+        Assert.assertEquals(key.toString(), "plain");
+        Assert.assertEquals(key, createConfig("dev").getKey("plain"));
+        Assert.assertEquals(key.hashCode(), "plain".hashCode());
+    }
+
+    @Test
+    public void profileVariantTest() {
+
+        ConfigImpl config = createConfig("dev,test");
+
+        // profiles listed later have priority
+        Assert.assertEquals(config.getValue(config.getKey("override"), String.class), "test");
+        Assert.assertEquals(config.getValue(config.getKey("single"), String.class), "dev");
+        Assert.assertEquals(config.getValue(config.getKey("plain"), String.class), "plain");
+
+        // lookups by name resolve the same variants
+        Assert.assertEquals(config.getValue("override", String.class), "test");
+        Assert.assertEquals(config.getValue("single", String.class), "dev");
+    }
+
+    @Test
+    public void foreignKeyTest() {
+
+        ConfigImpl unprofiled = createConfig(null);
+        ConfigImpl profiled = createConfig("dev");
+
+        // keys interned by another config are resolved with the profiles of the config they are passed to
+        Assert.assertEquals(profiled.getValue(unprofiled.getKey("single"), String.class), "dev");
+        Assert.assertEquals(unprofiled.getValue(profiled.getKey("single"), String.class), "plain");
+        Assert.assertEquals(profiled.getValue(profiled.getKey("override"), String.class), "dev");
+    }
+
+    private static ConfigImpl createConfig(String profiles) {
+
+        Map<String, String> properties = new HashMap<>(PROPERTIES);
+        if (profiles != null) {
+            properties.put("mp.config.profile", profiles);
+        }
+
+        return new ConfigImpl(List.of(new MapConfigSource(properties)), new HashMap<>());
+    }
+
+    private static final class MapConfigSource implements ConfigSource {
+
+        private final Map<String, String> properties;
+
+        private MapConfigSource(Map<String, String> properties) {
+            this.properties = properties;
+        }
+
+        @Override
+        public Map<String, String> getProperties() {
+            return properties;
+        }
+
+        @Override
+        public Set<String> getPropertyNames() {
+            return properties.keySet();
+        }
+
+        @Override
+        public String getValue(String propertyName) {
+            return properties.get(propertyName);
+        }
+
+        @Override
+        public String getName() {
+            return "MapConfigSource";
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.tests;
+
+import com.kumuluz.ee.config.microprofile.ConfigImpl;
+import com.kumuluz.ee.config.microprofile.cdi.ConfigPropertiesBinder;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.eclipse.microprofile.config.inject.ConfigProperties;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.testng.Arquillian;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.inject.Inject;
+
+/**
+ * Tests binding of @{@link ConfigProperties} classes through binders generated by the annotation processor.
+ *
+ * @since 2.1
+ */
+@Test
+public class ConfigPropertiesBinderTest extends Arquillian {
+
+    @Inject
+    @ConfigProperties
+    private BinderProperties properties;
+
+    @Inject
+    @ConfigProperties(prefix = "binder-backup")
+    private BinderProperties backupProperties;
+
+    @Deployment
+    public static JavaArchive deploy() {
+        return ShrinkWrap
+                .create(JavaArchive.class, "configPropertiesBinderTest.jar")
+                .addClasses(ConfigPropertiesBinderTest.class, BinderProperties.class,
+                        BinderProperties$$ConfigPropertiesBinder.class)
+                .addAsResource("config.yaml")
+                .addAsResource(ConfigPropertiesBinder.MANIFEST_LOCATION)
+                .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml")
+                .as(JavaArchive.class);
+    }
+
+    @Test
+    public void injectedPropertiesTest() {
+        Assert.assertEquals(properties.host, "example.com");
+        Assert.assertEquals(properties.port, 8443);
+        Assert.assertEquals(properties.getProtocol(), "https");
+    }
+
+    @Test
+    public void prefixOverrideTest() {
+        Assert.assertEquals(backupProperties.host, "backup.example.com");
+        Assert.assertEquals(backupProperties.port, 80);
+        Assert.assertEquals(backupProperties.getProtocol(), "https");
+    }
+
+    @Test
+    public void generatedBinderTest() {
+
+        ConfigImpl config = ConfigProvider.getConfig().unwrap(ConfigImpl.class);
+        BinderProperties bound = new BinderProperties$$ConfigPropertiesBinder().bind(config, "binder");
+
+        Assert.assertEquals(bound.host, properties.host);
+        Assert.assertEquals(bound.port, properties.port);
+        Assert.assertEquals(bound.getProtocol(), properties.getProtocol());
+    }
+}
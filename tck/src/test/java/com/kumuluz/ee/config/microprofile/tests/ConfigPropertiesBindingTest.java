@@ -0,0 +1,81 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.tests;
+
+import org.eclipse.microprofile.config.inject.ConfigProperties;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.testng.Arquillian;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.inject.Inject;
+import java.util.Optional;
+
+/**
+ * Tests reflective binding of @{@link ConfigProperties} classes.
+ *
+ * @since 2.1
+ */
+@Test
+public class ConfigPropertiesBindingTest extends Arquillian {
+
+    @Inject
+    @ConfigProperties
+    private SetterProperties properties;
+
+    @Inject
+    @ConfigProperties(prefix = "setter-override")
+    private SetterProperties overrideProperties;
+
+    @Deployment
+    public static JavaArchive deploy() {
+        return ShrinkWrap
+                .create(JavaArchive.class, "configPropertiesBindingTest.jar")
+                .addClasses(ConfigPropertiesBindingTest.class, SetterProperties.class)
+                .addAsResource("config.yaml")
+                .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml")
+                .as(JavaArchive.class);
+    }
+
+    @Test
+    public void setterPrecedenceTest() {
+        // the setter is used instead of assigning the field directly
+        Assert.assertEquals(properties.getHost(), "EXAMPLE.COM");
+        Assert.assertEquals(properties.secret(), "hidden");
+    }
+
+    @Test
+    public void fieldValuesTest() {
+        // values set directly on fields are kept when the property is not configured
+        Assert.assertEquals(properties.region, "eu");
+        Assert.assertEquals(properties.missing, Optional.empty());
+    }
+
+    @Test
+    public void prefixOverrideTest() {
+        Assert.assertEquals(overrideProperties.getHost(), "OVERRIDE.EXAMPLE.COM");
+        Assert.assertEquals(overrideProperties.region, "us");
+        Assert.assertEquals(overrideProperties.secret(), "hidden");
+    }
+}
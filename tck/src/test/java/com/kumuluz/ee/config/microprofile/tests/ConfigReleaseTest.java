@@ -0,0 +1,167 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.tests;
+
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.spi.ConfigProviderResolver;
+import org.eclipse.microprofile.config.spi.ConfigSource;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.testng.Arquillian;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tests that configs of released class loaders can be garbage collected.
+ *
+ * @since 2.1
+ */
+@Test
+public class ConfigReleaseTest extends Arquillian {
+
+    private static final String KEY = "kumuluz.release.test";
+
+    @Deployment
+    public static JavaArchive deploy() {
+        return ShrinkWrap
+                .create(JavaArchive.class, "configReleaseTest.jar")
+                .addClasses(ConfigReleaseTest.class, ClassLoaderConfigSource.class)
+                .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml")
+                .as(JavaArchive.class);
+    }
+
+    @Test
+    public void releasedConfigTest() throws InterruptedException {
+
+        List<WeakReference<?>> references = registerConfig();
+
+        awaitCollection(references);
+
+        Assert.assertNull(references.get(0).get(), "Config of the released class loader was not collected");
+        Assert.assertNull(references.get(1).get(), "Released class loader was not collected");
+    }
+
+    @Test
+    public void replacedConfigTest() throws InterruptedException {
+
+        List<WeakReference<?>> references = replaceConfig();
+
+        awaitCollection(references);
+
+        Assert.assertNull(references.get(0).get(), "Replaced config was not collected");
+        Assert.assertNull(references.get(1).get(), "Released class loader was not collected");
+    }
+
+    private static void awaitCollection(List<WeakReference<?>> references) throws InterruptedException {
+        for (int i = 0; i < 50 && references.stream().anyMatch(r -> r.get() != null); i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+    }
+
+    private static List<WeakReference<?>> registerConfig() {
+
+        ConfigProviderResolver resolver = ConfigProviderResolver.instance();
+        ClassLoader classLoader = new URLClassLoader(new URL[0], ConfigReleaseTest.class.getClassLoader());
+
+        Config config = buildConfig(resolver, classLoader);
+        resolver.registerConfig(config, classLoader);
+
+        Assert.assertSame(resolver.getConfig(classLoader), config);
+        // reads KumuluzEE configuration sources, which subscribe to changes
+        Assert.assertEquals(config.getValue(KEY, String.class), "value");
+        Assert.assertTrue(config.getPropertyNames().iterator().hasNext());
+
+        resolver.releaseConfig(config);
+
+        return List.of(new WeakReference<>(config), new WeakReference<>(classLoader));
+    }
+
+    private static List<WeakReference<?>> replaceConfig() {
+
+        ConfigProviderResolver resolver = ConfigProviderResolver.instance();
+        ClassLoader classLoader = new URLClassLoader(new URL[0], ConfigReleaseTest.class.getClassLoader());
+
+        Config replaced = buildConfig(resolver, classLoader);
+        resolver.registerConfig(replaced, classLoader);
+        Assert.assertEquals(replaced.getValue(KEY, String.class), "value");
+
+        // the replaced config is released by the provider, only the current one is released explicitly
+        Config config = buildConfig(resolver, classLoader);
+        resolver.registerConfig(config, classLoader);
+        Assert.assertSame(resolver.getConfig(classLoader), config);
+        Assert.assertEquals(config.getValue(KEY, String.class), "value");
+
+        resolver.releaseConfig(config);
+
+        return List.of(new WeakReference<>(replaced), new WeakReference<>(classLoader));
+    }
+
+    private static Config buildConfig(ConfigProviderResolver resolver, ClassLoader classLoader) {
+        return resolver.getBuilder()
+                .forClassLoader(classLoader)
+                .addDefaultSources()
+                .withSources(new ClassLoaderConfigSource(classLoader))
+                .build();
+    }
+
+    /**
+     * Config source which references its class loader, like sources and converters loaded by an application.
+     */
+    public static class ClassLoaderConfigSource implements ConfigSource {
+
+        private final ClassLoader classLoader;
+
+        public ClassLoaderConfigSource(ClassLoader classLoader) {
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        public Map<String, String> getProperties() {
+            return Collections.singletonMap(KEY, "value");
+        }
+
+        @Override
+        public Set<String> getPropertyNames() {
+            return getProperties().keySet();
+        }
+
+        @Override
+        public String getValue(String propertyName) {
+            return getProperties().get(propertyName);
+        }
+
+        @Override
+        public String getName() {
+            return "ClassLoaderConfigSource[" + classLoader + "]";
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.tests;
+
+import com.kumuluz.ee.config.microprofile.utils.ConfigSnapshotIndex;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the hash index of raw values, {@link ConfigSnapshotIndex}.
+ *
+ * @since 2.1
+ */
+@Test
+public class ConfigSnapshotIndexTest {
+
+    @Test
+    public void firstValueWinsTest() {
+
+        ConfigSnapshotIndex index = new ConfigSnapshotIndex(4);
+
+        Assert.assertTrue(index.putIfAbsent("key", "first", 0));
+        Assert.assertFalse(index.putIfAbsent("key", "second", 1));
+
+        int slot = index.find("key");
+        Assert.assertTrue(slot >= 0);
+        Assert.assertEquals(index.getValue(slot), "first");
+        Assert.assertEquals(index.getSourcePosition(slot), 0);
+        Assert.assertEquals(index.size(), 1);
+    }
+
+    @Test
+    public void missingKeyTest() {
+
+        ConfigSnapshotIndex index = new ConfigSnapshotIndex(0);
+
+        Assert.assertEquals(index.find("missing"), -1);
+
+        index.putIfAbsent("present", "value", 0);
+        Assert.assertEquals(index.find("missing"), -1);
+    }
+
+    @Test
+    public void collidingKeysTest() {
+
+        // "Aa" and "BB" have the same hash code
+        ConfigSnapshotIndex index = new ConfigSnapshotIndex(2);
+        index.putIfAbsent("Aa", "first", 2);
+        index.putIfAbsent("BB", "second", 3);
+
+        Assert.assertEquals(index.getValue(index.find("Aa")), "first");
+        Assert.assertEquals(index.getValue(index.find("BB")), "second");
+        Assert.assertEquals(index.getSourcePosition(index.find("BB")), 3);
+    }
+
+    @Test
+    public void expectedSizeTest() {
+
+        for (int expectedSize = 0; expectedSize <= 100; expectedSize++) {
+            ConfigSnapshotIndex index = new ConfigSnapshotIndex(expectedSize);
+
+            for (int i = 0; i < expectedSize; i++) {
+                Assert.assertTrue(index.putIfAbsent("key" + i, "value" + i, i));
+            }
+
+            for (int i = 0; i < expectedSize; i++) {
+                int position = index.find("key" + i);
+                Assert.assertEquals(index.getValue(position), "value" + i);
+                Assert.assertEquals(index.getSourcePosition(position), i);
+            }
+        }
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void fullIndexTest() {
+
+        ConfigSnapshotIndex index = new ConfigSnapshotIndex(4);
+
+        for (int i = 0; i < 1000; i++) {
+            index.putIfAbsent("key" + i, "value", 0);
+        }
+    }
+}
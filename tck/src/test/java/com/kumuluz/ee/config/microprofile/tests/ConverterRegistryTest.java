@@ -0,0 +1,91 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.tests;
+
+import com.kumuluz.ee.config.microprofile.converters.ConverterRegistry;
+import com.kumuluz.ee.config.microprofile.converters.ImplicitConverter;
+import org.eclipse.microprofile.config.spi.Converter;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Tests resolution and memoization of converters by {@link ConverterRegistry}.
+ *
+ * @since 2.1
+ */
+@Test
+public class ConverterRegistryTest {
+
+    private static final Converter<Integer> INTEGER_CONVERTER = value -> Integer.parseInt(value.trim());
+
+    private final ConverterRegistry registry = new ConverterRegistry(Map.<Type, Converter<?>>of(
+            Integer.class, INTEGER_CONVERTER));
+
+    @Test
+    public void registeredConverterTest() {
+
+        Assert.assertSame(registry.get(Integer.class), INTEGER_CONVERTER);
+        // primitive types resolve the converter of their wrapper
+        Assert.assertSame(registry.get(int.class), INTEGER_CONVERTER);
+    }
+
+    @Test
+    public void implicitConverterTest() {
+
+        Converter<Duration> converter = registry.get(Duration.class);
+
+        Assert.assertTrue(converter instanceof ImplicitConverter);
+        Assert.assertEquals(converter.convert("PT5S"), Duration.ofSeconds(5));
+        // generated converters are memoized
+        Assert.assertSame(registry.get(Duration.class), converter);
+    }
+
+    @Test
+    public void missingConverterTest() {
+
+        Assert.assertNull(registry.get(Object.class));
+        // absence of a converter is memoized as well
+        Assert.assertNull(registry.get(Object.class));
+    }
+
+    @Test
+    public void arrayConverterTest() {
+
+        Converter<Duration[]> converter = registry.get(Duration[].class);
+
+        Assert.assertNotNull(converter);
+        Assert.assertEquals(converter.convert("PT1S,PT2S"), new Duration[]{Duration.ofSeconds(1),
+                Duration.ofSeconds(2)});
+        Assert.assertSame(registry.get(Duration[].class), converter);
+    }
+
+    @Test
+    public void arrayWithoutElementConverterTest() {
+
+        // arrays are only converted if their elements can be
+        Assert.assertNull(registry.get(Object[].class));
+        Assert.assertNull(registry.get(Object[].class));
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.tests;
+
+import com.kumuluz.ee.config.microprofile.ConfigImpl;
+import com.kumuluz.ee.config.microprofile.adapters.ConfigSourceAdapter;
+import com.kumuluz.ee.config.microprofile.utils.KeyTrie;
+import com.kumuluz.ee.configuration.ConfigurationSource;
+import com.kumuluz.ee.configuration.utils.ConfigurationDispatcher;
+import org.eclipse.microprofile.config.spi.ConfigProviderResolver;
+import org.eclipse.microprofile.config.spi.ConfigSource;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.testng.Arquillian;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+/**
+ * Tests invalidation of properties which reference changed properties in property expressions, and detection of
+ * reference cycles.
+ *
+ * @since 2.1
+ */
+@Test
+public class DependencyInvalidationTest extends Arquillian {
+
+    @Deployment
+    public static JavaArchive deploy() {
+        return ShrinkWrap
+                .create(JavaArchive.class, "dependencyInvalidationTest.jar")
+                .addClasses(DependencyInvalidationTest.class, MapConfigurationSource.class, ImmutableConfigSource.class)
+                .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml")
+                .as(JavaArchive.class);
+    }
+
+    @Test
+    public void dependentInvalidationTest() {
+
+        MapConfigurationSource source = new MapConfigurationSource(Map.of("db.host", "localhost", "db.port", "5432",
+                "db.url", "${db.host}:${db.port}", "db.pool.port", "${db.port}"));
+        ConfigSourceAdapter adapter = new ConfigSourceAdapter(source);
+        ConfigImpl config = new ConfigImpl(List.of(adapter), new HashMap<>());
+
+        try {
+            Assert.assertEquals(config.getValue("db.url", String.class), "localhost:5432");
+            Assert.assertEquals(config.getValue("db.pool.port", String.class), "5432");
+
+            // only properties which reference the changed property are resolved again
+            source.properties.put("db.host", "example.com");
+            adapter.onChange("db.host");
+            config.invalidate("db.host");
+
+            long hits = config.getCacheHits();
+            Assert.assertEquals(config.getValue("db.pool.port", String.class), "5432");
+            Assert.assertEquals(config.getCacheHits(), hits + 1);
+            Assert.assertEquals(config.getValue("db.url", String.class), "example.com:5432");
+            Assert.assertEquals(config.getCacheHits(), hits + 1);
+
+            // changes are propagated through referenced properties which are themselves expressions
+            source.properties.put("db.port", "6543");
+            adapter.onChange("db.port");
+            config.invalidate("db.port");
+
+            Assert.assertEquals(config.getValue("db.url", String.class), "example.com:6543");
+            Assert.assertEquals(config.getValue("db.pool.port", String.class), "6543");
+        } finally {
+            ConfigProviderResolver.instance().releaseConfig(config);
+        }
+    }
+
+    @Test
+    public void indexedCycleTest() {
+
+        ConfigImpl config = new ConfigImpl(List.of(new ImmutableConfigSource(Map.of("a", "${b}", "b", "x${a}"))),
+                new HashMap<>());
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> config.getValue("a", String.class));
+        Assert.assertThrows(IllegalArgumentException.class, () -> config.getValue("b", String.class));
+    }
+
+    @Test
+    public void overriddenCycleTest() {
+
+        MapConfigurationSource source = new MapConfigurationSource(Collections.emptyMap());
+        ConfigSourceAdapter adapter = new ConfigSourceAdapter(source);
+        ConfigImpl config = new ConfigImpl(List.of(adapter,
+                new ImmutableConfigSource(Map.of("a", "${b}", "b", "x${a}"))), new HashMap<>());
+
+        try {
+            Assert.assertThrows(IllegalArgumentException.class, () -> config.getValue("a", String.class));
+
+            // a mutable source with a higher ordinal breaks the cycle of the indexed values
+            source.properties.put("b", "fixed");
+            adapter.onChange("b");
+            config.invalidate("b");
+
+            Assert.assertEquals(config.getValue("a", String.class), "fixed");
+            Assert.assertEquals(config.getValue("b", String.class), "fixed");
+        } finally {
+            ConfigProviderResolver.instance().releaseConfig(config);
+        }
+    }
+
+    /**
+     * KumuluzEE configuration source backed by a map, which is changed by the tests.
+     */
+    public static class MapConfigurationSource implements ConfigurationSource {
+
+        private final Map<String, String> properties;
+
+        public MapConfigurationSource(Map<String, String> properties) {
+            this.properties = new HashMap<>(properties);
+        }
+
+        @Override
+        public void init(ConfigurationDispatcher configurationDispatcher) {
+        }
+
+        @Override
+        public Optional<String> get(String key) {
+            return Optional.ofNullable(properties.get(key));
+        }
+
+        @Override
+        public Optional<Integer> getListSize(String key) {
+            return KeyTrie.build(properties.keySet()).getListSize(key);
+        }
+
+        @Override
+        public Optional<List<String>> getMapKeys(String key) {
+            return KeyTrie.build(properties.keySet()).getMapKeys(key);
+        }
+
+        @Override
+        public void watch(String key) {
+        }
+
+        @Override
+        public void set(String key, String value) {
+        }
+
+        @Override
+        public void set(String key, Boolean value) {
+        }
+
+        @Override
+        public void set(String key, Integer value) {
+        }
+
+        @Override
+        public void set(String key, Double value) {
+        }
+
+        @Override
+        public void set(String key, Float value) {
+        }
+    }
+
+    /**
+     * MicroProfile config source which declares its values immutable, so that they are indexed.
+     */
+    public static class ImmutableConfigSource implements ConfigSource {
+
+        private final Map<String, String> properties;
+
+        public ImmutableConfigSource(Map<String, String> properties) {
+            this.properties = new HashMap<>(properties);
+            this.properties.put("config_immutable", "true");
+        }
+
+        @Override
+        public Map<String, String> getProperties() {
+            return properties;
+        }
+
+        @Override
+        public Set<String> getPropertyNames() {
+            return properties.keySet();
+        }
+
+        @Override
+        public String getValue(String propertyName) {
+            return properties.get(propertyName);
+        }
+
+        @Override
+        public String getName() {
+            return "ImmutableConfigSource";
+        }
+    }
+}
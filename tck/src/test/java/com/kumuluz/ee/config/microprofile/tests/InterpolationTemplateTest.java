@@ -0,0 +1,89 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.tests;
+
+import com.kumuluz.ee.config.microprofile.utils.InterpolationTemplate;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Tests compilation and resolution of property expressions with {@link InterpolationTemplate}.
+ *
+ * @since 2.1
+ */
+@Test
+public class InterpolationTemplateTest {
+
+    private static final Map<String, String> VALUES = Map.of(
+            "db.host", "localhost",
+            "db.port", "5432",
+            "empty", "");
+
+    @Test
+    public void literalTest() {
+
+        InterpolationTemplate template = InterpolationTemplate.compile("cost is $5 {net}");
+
+        Assert.assertEquals(template.getReferences(), Collections.emptyList());
+        Assert.assertEquals(template.resolve(VALUES::get), "cost is $5 {net}");
+    }
+
+    @Test
+    public void referencesTest() {
+
+        InterpolationTemplate template = InterpolationTemplate.compile("jdbc://${db.host}:${db.port}/${db.name:app}");
+
+        Assert.assertEquals(template.getReferences(), Arrays.asList("db.host", "db.port", "db.name"));
+        Assert.assertEquals(template.resolve(VALUES::get), "jdbc://localhost:5432/app");
+    }
+
+    @Test
+    public void emptyValueTest() {
+        Assert.assertEquals(InterpolationTemplate.compile("[${empty}]").resolve(VALUES::get), "[]");
+        Assert.assertEquals(InterpolationTemplate.compile("[${missing:}]").resolve(VALUES::get), "[]");
+    }
+
+    @Test
+    public void missingReferenceTest() {
+        Assert.assertNull(InterpolationTemplate.compile("${db.host}:${missing}").resolve(VALUES::get));
+        Assert.assertNull(InterpolationTemplate.compile("${db.host:fallback}")
+                .resolve(reference -> InterpolationTemplate.UNRESOLVABLE));
+    }
+
+    @Test
+    public void nestedExpressionTest() {
+        // nested and escaped expressions are left to the KumuluzEE interpolation util
+        Assert.assertNull(InterpolationTemplate.compile("${db.${env}}"));
+        Assert.assertNull(InterpolationTemplate.compile("${db.host:${fallback}}"));
+        Assert.assertNull(InterpolationTemplate.compile("\\${db.host}"));
+    }
+
+    @Test
+    public void malformedExpressionTest() {
+        Assert.assertNull(InterpolationTemplate.compile("${db.host"));
+        Assert.assertNull(InterpolationTemplate.compile("${}"));
+        Assert.assertNull(InterpolationTemplate.compile("${:default}"));
+    }
+}
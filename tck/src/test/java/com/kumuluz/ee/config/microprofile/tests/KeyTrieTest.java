@@ -0,0 +1,84 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.tests;
+
+import com.kumuluz.ee.config.microprofile.utils.KeyTrie;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Tests map key and list size queries answered by {@link KeyTrie}.
+ *
+ * @since 2.1
+ */
+@Test
+public class KeyTrieTest {
+
+    private static final KeyTrie TRIE = KeyTrie.build(Arrays.asList(
+            "server.host",
+            "server.port",
+            "server.hosts[0]",
+            "server.hosts[2]",
+            "clients[0].name",
+            "clients[0].url",
+            "clients[1].name",
+            "matrix[1][3]",
+            "plain",
+            "broken[x]",
+            "trailing."));
+
+    @Test
+    public void mapKeysTest() {
+        Assert.assertEquals(TRIE.getMapKeys(""), Optional.of(Arrays.asList("server", "clients", "matrix", "plain")));
+        Assert.assertEquals(TRIE.getMapKeys("server"), Optional.of(Arrays.asList("host", "port", "hosts")));
+        Assert.assertEquals(TRIE.getMapKeys("clients[0]"), Optional.of(Arrays.asList("name", "url")));
+    }
+
+    @Test
+    public void leafAndMissingKeysTest() {
+        Assert.assertEquals(TRIE.getMapKeys("server.host"), Optional.empty());
+        Assert.assertEquals(TRIE.getMapKeys("missing"), Optional.empty());
+        Assert.assertEquals(TRIE.getListSize("plain"), Optional.empty());
+        Assert.assertEquals(TRIE.getListSize("server"), Optional.empty());
+    }
+
+    @Test
+    public void listSizeTest() {
+        // sparse lists are sized by the highest index
+        Assert.assertEquals(TRIE.getListSize("server.hosts"), Optional.of(3));
+        Assert.assertEquals(TRIE.getListSize("clients"), Optional.of(2));
+        Assert.assertEquals(TRIE.getListSize("matrix"), Optional.of(2));
+        Assert.assertEquals(TRIE.getListSize("matrix[1]"), Optional.of(4));
+        Assert.assertEquals(TRIE.getListSize(""), Optional.empty());
+    }
+
+    @Test
+    public void malformedKeysTest() {
+        // malformed names are skipped when building and don't match when querying
+        Assert.assertEquals(TRIE.getMapKeys("broken"), Optional.empty());
+        Assert.assertEquals(TRIE.getMapKeys("trailing"), Optional.empty());
+        Assert.assertEquals(TRIE.getListSize("server.hosts[x]"), Optional.empty());
+        Assert.assertEquals(TRIE.getMapKeys("server..host"), Optional.empty());
+    }
+}
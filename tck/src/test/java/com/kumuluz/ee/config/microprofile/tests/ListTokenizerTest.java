@@ -0,0 +1,87 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.tests;
+
+import com.kumuluz.ee.config.microprofile.utils.ListTokenizer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests splitting of list values with {@link ListTokenizer}.
+ *
+ * @since 2.1
+ */
+@Test
+public class ListTokenizerTest {
+
+    @Test
+    public void splitTest() {
+        Assert.assertEquals(ListTokenizer.tokenize("one,two,three"), Arrays.asList("one", "two", "three"));
+        Assert.assertEquals(ListTokenizer.tokenize("single"), Collections.singletonList("single"));
+        // whitespace is part of the element
+        Assert.assertEquals(ListTokenizer.tokenize(" one , two "), Arrays.asList(" one ", " two "));
+    }
+
+    @Test
+    public void escapedCommaTest() {
+        Assert.assertEquals(ListTokenizer.tokenize("one\\,two,three"), Arrays.asList("one,two", "three"));
+        Assert.assertEquals(ListTokenizer.tokenize("\\,leading,trailing\\,"), Arrays.asList(",leading", "trailing,"));
+        Assert.assertEquals(ListTokenizer.tokenize("a\\,b\\,c"), Collections.singletonList("a,b,c"));
+    }
+
+    @Test
+    public void emptyElementsTest() {
+        Assert.assertEquals(ListTokenizer.tokenize("one,,two,"), Arrays.asList("one", "two"));
+        Assert.assertEquals(ListTokenizer.tokenize(",one"), Collections.singletonList("one"));
+        Assert.assertEquals(ListTokenizer.tokenize(",,,"), Collections.emptyList());
+        Assert.assertEquals(ListTokenizer.tokenize(""), Collections.emptyList());
+    }
+
+    @Test
+    public void countTest() {
+        for (String value : Arrays.asList("", ",", "one", "one,,two,", "one\\,two,three", "\\,")) {
+            Assert.assertEquals(ListTokenizer.countTokens(value), ListTokenizer.tokenize(value).size(), value);
+        }
+    }
+
+    @Test
+    public void tokenBoundsTest() {
+
+        String value = "ab,c\\,d,,e";
+        List<String> tokens = new ArrayList<>();
+        List<Boolean> escapes = new ArrayList<>();
+
+        ListTokenizer.forEachToken(value, (s, start, end, escaped) -> {
+            tokens.add(s.substring(start, end));
+            escapes.add(escaped);
+        });
+
+        // bounds include the escape characters, which are only removed by token()
+        Assert.assertEquals(tokens, Arrays.asList("ab", "c\\,d", "e"));
+        Assert.assertEquals(escapes, Arrays.asList(false, true, false));
+        Assert.assertEquals(ListTokenizer.token(value, 3, 7, true), "c,d");
+    }
+}
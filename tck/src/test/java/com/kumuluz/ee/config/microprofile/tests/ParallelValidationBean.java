@@ -0,0 +1,323 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.tests;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import javax.enterprise.context.Dependent;
+import javax.inject.Inject;
+
+/**
+ * Bean with enough config injection points for the deployment to be validated in parallel.
+ *
+ * @since 2.1
+ */
+@Dependent
+public class ParallelValidationBean {
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host00;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port00;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host01;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port01;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host02;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port02;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host03;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port03;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host04;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port04;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host05;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port05;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host06;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port06;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host07;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port07;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host08;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port08;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host09;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port09;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host10;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port10;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host11;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port11;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host12;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port12;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host13;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port13;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host14;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port14;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host15;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port15;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host16;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port16;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host17;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port17;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host18;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port18;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host19;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port19;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host20;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port20;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host21;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port21;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host22;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port22;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host23;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port23;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host24;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port24;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host25;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port25;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host26;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port26;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host27;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port27;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host28;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port28;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host29;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port29;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host30;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port30;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host31;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port31;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host32;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port32;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host33;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port33;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host34;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port34;
+
+    @Inject
+    @ConfigProperty(name = "binder.host")
+    String host35;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    Integer port35;
+}
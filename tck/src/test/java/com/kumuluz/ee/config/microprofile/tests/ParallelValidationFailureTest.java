@@ -0,0 +1,65 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.tests;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.container.test.api.ShouldThrowException;
+import org.jboss.arquillian.testng.Arquillian;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.testng.annotations.Test;
+
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.spi.DeploymentException;
+import javax.inject.Inject;
+
+/**
+ * Tests that missing values are reported as deployment problems when the injection points are validated in parallel.
+ *
+ * @since 2.1
+ */
+public class ParallelValidationFailureTest extends Arquillian {
+
+    @Deployment
+    @ShouldThrowException(DeploymentException.class)
+    public static JavaArchive deploy() {
+        return ShrinkWrap
+                .create(JavaArchive.class, "parallelValidationFailureTest.jar")
+                .addClasses(ParallelValidationFailureTest.class, ParallelValidationBean.class, MissingValueBean.class)
+                .addAsResource("config.yaml")
+                .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml")
+                .as(JavaArchive.class);
+    }
+
+    @Test
+    public void test() {
+    }
+
+    @Dependent
+    public static class MissingValueBean {
+
+        @Inject
+        @ConfigProperty(name = "kumuluz.parallel.missing")
+        String missing;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.tests;
+
+import com.kumuluz.ee.config.microprofile.converters.*;
+import org.eclipse.microprofile.config.spi.Converter;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+/**
+ * Tests conversion of primitive arrays with {@link PrimitiveArrayConverter}.
+ *
+ * @since 2.1
+ */
+@Test
+public class PrimitiveArrayConverterTest {
+
+    @Test
+    public void intArrayTest() {
+        int[] array = convert(int.class, IntegerConverter.INSTANCE, "1,-2,,3");
+        Assert.assertTrue(Arrays.equals(array, new int[]{1, -2, 3}), Arrays.toString(array));
+    }
+
+    @Test
+    public void shortNarrowingTest() {
+
+        short[] array = convert(short.class, ShortConverter.INSTANCE, "1,70000,-32769");
+
+        // out of range values are narrowed the same way as by the element converter
+        short[] expected = {ShortConverter.INSTANCE.convert("1"), ShortConverter.INSTANCE.convert("70000"),
+                ShortConverter.INSTANCE.convert("-32769")};
+        Assert.assertTrue(Arrays.equals(array, expected), Arrays.toString(array));
+        Assert.assertTrue(Arrays.equals(array, new short[]{1, 4464, 32767}), Arrays.toString(array));
+    }
+
+    @Test
+    public void byteNarrowingTest() {
+
+        byte[] array = convert(byte.class, ByteConverter.INSTANCE, "127,128,-129");
+
+        byte[] expected = {ByteConverter.INSTANCE.convert("127"), ByteConverter.INSTANCE.convert("128"),
+                ByteConverter.INSTANCE.convert("-129")};
+        Assert.assertTrue(Arrays.equals(array, expected), Arrays.toString(array));
+        Assert.assertTrue(Arrays.equals(array, new byte[]{127, -128, 127}), Arrays.toString(array));
+    }
+
+    @Test
+    public void charAndBooleanArrayTest() {
+
+        char[] chars = convert(char.class, CharacterConverter.INSTANCE, "a,\\,,b");
+        Assert.assertTrue(Arrays.equals(chars, new char[]{'a', ',', 'b'}), Arrays.toString(chars));
+
+        boolean[] booleans = convert(boolean.class, BooleanConverter.INSTANCE, "true,YES,off,1,y,On");
+        Assert.assertTrue(Arrays.equals(booleans, new boolean[]{true, true, false, true, true, true}),
+                Arrays.toString(booleans));
+    }
+
+    @Test
+    public void emptyInputTest() {
+        Assert.assertNull(convert(int.class, IntegerConverter.INSTANCE, ""));
+        Assert.assertNull(convert(short.class, ShortConverter.INSTANCE, ",,"));
+        Assert.assertNull(convert(byte.class, ByteConverter.INSTANCE, ","));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void invalidShortTest() {
+        convert(short.class, ShortConverter.INSTANCE, "1,two");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void invalidCharTest() {
+        convert(char.class, CharacterConverter.INSTANCE, "a,bc");
+    }
+
+    @Test
+    public void customElementConverterTest() {
+        // arrays of types with a custom converter are converted element by element
+        Converter<Integer> custom = value -> 42;
+        Assert.assertNull(PrimitiveArrayConverter.forComponentType(int.class, custom));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <A> A convert(Class<?> componentType, Converter<?> elementConverter, String value) {
+        return ((Converter<A>) PrimitiveArrayConverter.forComponentType(componentType, elementConverter))
+                .convert(value);
+    }
+}
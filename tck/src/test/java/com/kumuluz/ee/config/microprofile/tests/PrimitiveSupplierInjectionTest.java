@@ -0,0 +1,187 @@
+/*
+ *  Copyright (c) 2014-2021 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.config.microprofile.tests;
+
+import com.kumuluz.ee.config.microprofile.ConfigImpl;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.config.spi.ConfigProviderResolver;
+import org.eclipse.microprofile.config.spi.ConfigSource;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.testng.Arquillian;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.inject.Inject;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Tests primitive accessors of {@link ConfigImpl} and injection of primitive suppliers.
+ *
+ * @since 2.1
+ */
+@Test
+public class PrimitiveSupplierInjectionTest extends Arquillian {
+
+    private static final String KEY = "kumuluz.supplier.test";
+
+    @Deployment
+    public static JavaArchive deploy() {
+        return ShrinkWrap
+                .create(JavaArchive.class, "primitiveSupplierInjectionTest.jar")
+                .addClasses(PrimitiveSupplierInjectionTest.class, OverridingConfigSource.class)
+                .addAsResource("config.yaml")
+                .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml")
+                .as(JavaArchive.class);
+    }
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    private IntSupplier intSupplier;
+
+    @Inject
+    @ConfigProperty(name = "binder.port")
+    private LongSupplier longSupplier;
+
+    @Inject
+    @ConfigProperty(name = KEY, defaultValue = "2.5")
+    private DoubleSupplier doubleSupplier;
+
+    @Inject
+    @ConfigProperty(name = KEY)
+    private BooleanSupplier booleanSupplier;
+
+    @Test
+    public void accessorTest() {
+
+        ConfigImpl config = ConfigProvider.getConfig().unwrap(ConfigImpl.class);
+        System.clearProperty(KEY);
+
+        Assert.assertEquals(config.getInt(config.getKey("binder.port")), 8443);
+        Assert.assertEquals(config.getLong(config.getKey("binder.port")), 8443L);
+        Assert.assertEquals(config.getInt(config.getKey(KEY), 7), 7);
+        Assert.assertThrows(NoSuchElementException.class, () -> config.getDouble(config.getKey(KEY)));
+
+        // empty values are treated as missing
+        System.setProperty(KEY, "");
+        Assert.assertThrows(NoSuchElementException.class, () -> config.getBoolean(config.getKey(KEY)));
+        Assert.assertTrue(config.getBoolean(config.getKey(KEY), true));
+
+        System.setProperty(KEY, "yes");
+        Assert.assertTrue(config.getBoolean(config.getKey(KEY)));
+
+        System.setProperty(KEY, "not a number");
+        Assert.assertThrows(IllegalArgumentException.class, () -> config.getLong(config.getKey(KEY)));
+
+        System.clearProperty(KEY);
+    }
+
+    @Test
+    public void supplierTest() {
+
+        System.clearProperty(KEY);
+
+        Assert.assertEquals(intSupplier.getAsInt(), 8443);
+        Assert.assertEquals(longSupplier.getAsLong(), 8443L);
+        Assert.assertEquals(doubleSupplier.getAsDouble(), 2.5);
+        Assert.assertThrows(NoSuchElementException.class, booleanSupplier::getAsBoolean);
+
+        // suppliers read the current value on every call
+        System.setProperty(KEY, "true");
+        Assert.assertTrue(booleanSupplier.getAsBoolean());
+
+        System.setProperty(KEY, "4");
+        Assert.assertEquals(doubleSupplier.getAsDouble(), 4.0);
+        Assert.assertFalse(booleanSupplier.getAsBoolean());
+
+        System.clearProperty(KEY);
+    }
+
+    @Test
+    public void replacedConfigTest() {
+
+        ConfigProviderResolver resolver = ConfigProviderResolver.instance();
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+        Assert.assertEquals(intSupplier.getAsInt(), 8443);
+
+        // suppliers follow the config which replaced the one they were injected from
+        Config replacement = resolver.getBuilder()
+                .forClassLoader(classLoader)
+                .addDefaultSources()
+                .withSources(new OverridingConfigSource())
+                .build();
+        resolver.registerConfig(replacement, classLoader);
+
+        try {
+            Assert.assertEquals(intSupplier.getAsInt(), 9443);
+            Assert.assertEquals(longSupplier.getAsLong(), 9443L);
+        } finally {
+            resolver.releaseConfig(replacement);
+        }
+
+        // the config is built again once the replacement is released
+        Assert.assertEquals(intSupplier.getAsInt(), 8443);
+    }
+
+    /**
+     * Config source which overrides a value of the configuration file.
+     */
+    public static class OverridingConfigSource implements ConfigSource {
+
+        private static final Map<String, String> PROPERTIES = Map.of("binder.port", "9443");
+
+        @Override
+        public Map<String, String> getProperties() {
+            return PROPERTIES;
+        }
+
+        @Override
+        public Set<String> getPropertyNames() {
+            return PROPERTIES.keySet();
+        }
+
+        @Override
+        public String getValue(String propertyName) {
+            return PROPERTIES.get(propertyName);
+        }
+
+        @Override
+        public String getName() {
+            return "OverridingConfigSource";
+        }
+
+        @Override
+        public int getOrdinal() {
+            return 1000;
+        }
+    }
+}